@@ -1,5 +1,7 @@
 package io.rhizomatic.api;
 
+import io.rhizomatic.api.executor.ExecutorProvider;
+
 /**
  *
  */
@@ -12,4 +14,9 @@ public interface ServiceContext {
     void addBootCallback(Runnable runnable);
 
     void addShutdownCallback(Runnable runnable);
+
+    /**
+     * Returns the provider of executors managed by the runtime. The provider may also be injected.
+     */
+    ExecutorProvider getExecutorProvider();
 }
@@ -0,0 +1,58 @@
+package io.rhizomatic.api;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, ordered collection of services bound to a multiplicity contract. Services are ordered by {@link io.rhizomatic.api.annotations.Service#order()}.
+ * <p>
+ * May be injected in place of a {@code Set} for fan-out over services on hot paths. Elements are held in an array: {@link #forEach(Consumer)} and indexed access via
+ * {@link #get(int)} do not allocate or hash.
+ */
+public final class Services<T> extends AbstractList<T> implements RandomAccess {
+    private static final Services<?> EMPTY = new Services<>(new Object[0]);
+
+    private final Object[] elements;
+
+    /**
+     * Returns a collection containing the services in iteration order.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Services<T> of(Collection<? extends T> services) {
+        if (services instanceof Services) {
+            return (Services<T>) services;
+        }
+        if (services.isEmpty()) {
+            return (Services<T>) EMPTY;
+        }
+        var elements = services.toArray();
+        for (var element : elements) {
+            Objects.requireNonNull(element);
+        }
+        return new Services<>(elements);
+    }
+
+    private Services(Object[] elements) {
+        this.elements = elements;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (var element : elements) {
+            action.accept((T) element);
+        }
+    }
+
+}
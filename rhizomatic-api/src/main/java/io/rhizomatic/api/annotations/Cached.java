@@ -0,0 +1,39 @@
+package io.rhizomatic.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the values returned by a service method, keyed by the method arguments. Arguments must implement {@code equals} and {@code hashCode}; exceptions are not
+ * cached. The method must return a value and must not be private, static or final.
+ * <p>
+ * Cached values may be invalidated using the {@link io.rhizomatic.api.cache.CacheManager}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface Cached {
+
+    /**
+     * The cache name. Defaults to the declaring class name and method name separated by a period.
+     */
+    String name() default "";
+
+    /**
+     * The maximum number of entries. Entries are evicted based on how frequently and recently they were used.
+     */
+    long maximumSize() default 1000;
+
+    /**
+     * The time an entry remains valid after it was cached. Entries do not expire if the value is zero or negative.
+     */
+    long ttl() default 0;
+
+    /**
+     * The time unit of the TTL.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+}
@@ -0,0 +1,15 @@
+package io.rhizomatic.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service field for lazy injection. The field is injected with a proxy that creates the target service when it is first invoked. Fields must be interface or
+ * {@code Provider} types and must not also be annotated with {@code @Inject}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Lazy {
+}
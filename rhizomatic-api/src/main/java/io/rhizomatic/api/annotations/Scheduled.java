@@ -0,0 +1,37 @@
+package io.rhizomatic.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks a public, no-args service method for periodic execution once the system has started. Exactly one of {@link #fixedRate()} or {@link #fixedDelay()} must be set.
+ * <p>
+ * Executions of a method do not overlap: if a fixed-rate execution is due while the previous one is still running, it is skipped and reported as an overrun.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface Scheduled {
+
+    /**
+     * The period between the start of successive executions.
+     */
+    long fixedRate() default -1;
+
+    /**
+     * The delay between the completion of an execution and the start of the next.
+     */
+    long fixedDelay() default -1;
+
+    /**
+     * The delay before the first execution.
+     */
+    long initialDelay() default 0;
+
+    /**
+     * The time unit of the rate and delay values.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
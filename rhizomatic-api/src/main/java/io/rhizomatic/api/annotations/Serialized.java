@@ -0,0 +1,19 @@
+package io.rhizomatic.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Executes invocations of the public methods of a service one at a time, in the order they were made, on a thread dedicated to the service. Service state is therefore
+ * only accessed by a single thread and does not need to be guarded by locks.
+ * <p>
+ * Methods returning a {@code CompletionStage} or {@code CompletableFuture} return immediately with a stage that completes when the stage returned by the method
+ * completes. Other methods block the caller until the invocation completes. Invocations made by the service itself execute immediately. Services must not make blocking
+ * invocations on serialized services that may in turn make blocking invocations on them, since the calls would deadlock.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Serialized {
+}
@@ -0,0 +1,17 @@
+package io.rhizomatic.api.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the number of invocations, errors and latency of service methods. If placed on a class, all public methods declared by the class are timed. Private, static
+ * and final methods are not timed.
+ * <p>
+ * Timings are available from the {@link io.rhizomatic.api.metrics.TimerRegistry}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Timed {
+}
@@ -0,0 +1,46 @@
+package io.rhizomatic.api.batch;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Coalesces individual loads into batched invocations of a bulk load function. Keys loaded within a short delay are collected into a batch, and duplicate keys in a
+ * batch are loaded once. A batch is dispatched when the delay elapses, when it reaches the maximum batch size, or when {@link #dispatch()} is called.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface BatchLoader<K, V> {
+
+    /**
+     * Loads the value for a key. The returned future completes with null if the bulk function does not return a value for the key.
+     *
+     * @param key the key
+     */
+    CompletableFuture<V> load(K key);
+
+    /**
+     * Loads the values for the keys. Keys without a value are not contained in the returned map.
+     *
+     * @param keys the keys
+     */
+    CompletableFuture<Map<K, V>> loadAll(Collection<? extends K> keys);
+
+    /**
+     * Dispatches pending loads without waiting for the delay to elapse.
+     */
+    void dispatch();
+
+    /**
+     * Returns a loader that shares this loader's batches and caches the values it loads, so repeated loads of a key return the same future. Loaders should be scoped to
+     * a unit of work such as a request, since cached values are not invalidated.
+     */
+    BatchLoader<K, V> newCachingScope();
+
+    /**
+     * Returns a snapshot of the loader statistics.
+     */
+    BatchStatistics getStatistics();
+
+}
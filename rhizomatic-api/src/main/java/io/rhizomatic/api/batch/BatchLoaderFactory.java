@@ -0,0 +1,42 @@
+package io.rhizomatic.api.batch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Creates batch loaders. Bulk load functions are invoked on the managed {@code batch} executor.
+ * <p>
+ * The following configuration keys apply to a loader named {@code name}:
+ * <ul>
+ *     <li>{@code batch.name.size} - the maximum number of keys in a batch</li>
+ *     <li>{@code batch.name.delay} - the maximum time in milliseconds a load waits for other loads to join its batch</li>
+ * </ul>
+ */
+public interface BatchLoaderFactory {
+
+    /**
+     * Creates a loader. Loaders are intended to be created once, for example when a service is initialized, and shared.
+     *
+     * @param name the loader name
+     * @param bulkFunction loads the values for a set of keys
+     */
+    <K, V> BatchLoader<K, V> create(String name, Function<Set<K>, Map<K, V>> bulkFunction);
+
+    /**
+     * Creates a loader, overriding the configured batch size and delay.
+     *
+     * @param name the loader name
+     * @param maxBatchSize the maximum number of keys in a batch
+     * @param maxDelayMillis the maximum time in milliseconds a load waits for other loads to join its batch
+     * @param bulkFunction loads the values for a set of keys
+     */
+    <K, V> BatchLoader<K, V> create(String name, int maxBatchSize, long maxDelayMillis, Function<Set<K>, Map<K, V>> bulkFunction);
+
+    /**
+     * Returns a snapshot of the statistics for each loader.
+     */
+    List<BatchStatistics> getStatistics();
+
+}
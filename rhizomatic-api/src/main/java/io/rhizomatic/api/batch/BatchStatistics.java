@@ -0,0 +1,75 @@
+package io.rhizomatic.api.batch;
+
+/**
+ * Point-in-time statistics for a batch loader.
+ */
+public class BatchStatistics {
+    private String name;
+    private long loadCount;
+    private long batchCount;
+    private long keyCount;
+    private long deduplicatedCount;
+    private long errorCount;
+
+    public BatchStatistics(String name, long loadCount, long batchCount, long keyCount, long deduplicatedCount, long errorCount) {
+        this.name = name;
+        this.loadCount = loadCount;
+        this.batchCount = batchCount;
+        this.keyCount = keyCount;
+        this.deduplicatedCount = deduplicatedCount;
+        this.errorCount = errorCount;
+    }
+
+    /**
+     * Returns the loader name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of keys requested, including duplicates.
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns the number of bulk function invocations.
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Returns the number of keys passed to the bulk function.
+     */
+    public long getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Returns the number of loads served by a pending batch or a caching scope instead of adding a key to a batch.
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount;
+    }
+
+    /**
+     * Returns the number of bulk function invocations that failed.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the average number of keys per batch.
+     */
+    public double getAverageBatchSize() {
+        return batchCount == 0 ? 0 : (double) keyCount / batchCount;
+    }
+
+    public String toString() {
+        return name + " [loads=" + loadCount + ", batches=" + batchCount + ", keys=" + keyCount + ", deduplicated=" + deduplicatedCount + ", errors=" + errorCount + "]";
+    }
+}
@@ -0,0 +1,51 @@
+package io.rhizomatic.api.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Caches byte payloads outside the Java heap, so large payloads such as rendered documents do not add to garbage collection pauses. The cache is bounded by the total
+ * size of its payloads; when it is full, the oldest payloads are evicted unless they were read since they were cached.
+ * <p>
+ * Reads do not copy: the returned buffer is a read-only view of cached memory and remains valid after the payload is evicted or replaced.
+ */
+public interface ByteCache {
+
+    /**
+     * Caches a copy of the remaining bytes of the payload, replacing an existing payload for the key. The position of the payload buffer is not changed.
+     *
+     * @param key the key
+     * @param payload the payload
+     * @return true if the payload was cached or false if it is larger than the cache
+     */
+    boolean put(String key, ByteBuffer payload);
+
+    /**
+     * Returns a read-only buffer containing the payload cached for the key, or null if no payload is cached. The buffer is positioned at the start of the payload.
+     *
+     * @param key the key
+     */
+    ByteBuffer get(String key);
+
+    /**
+     * Removes the payload cached for the key.
+     *
+     * @param key the key
+     */
+    void invalidate(String key);
+
+    /**
+     * Removes all cached payloads.
+     */
+    void invalidateAll();
+
+    /**
+     * Returns the number of bytes of off-heap memory allocated by the cache.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     */
+    CacheStatistics getStatistics();
+
+}
@@ -0,0 +1,31 @@
+package io.rhizomatic.api.cache;
+
+import java.util.List;
+
+/**
+ * Manages the caches backing {@link io.rhizomatic.api.annotations.Cached} methods. Caches are created when a method is first invoked, so operations on a cache that
+ * has not been created have no effect.
+ */
+public interface CacheManager {
+
+    /**
+     * Invalidates the value cached for the arguments.
+     *
+     * @param cache the cache name
+     * @param arguments the method arguments the value was cached for
+     */
+    void invalidate(String cache, Object... arguments);
+
+    /**
+     * Invalidates all values in the cache.
+     *
+     * @param cache the cache name
+     */
+    void invalidateAll(String cache);
+
+    /**
+     * Returns a snapshot of the statistics for each cache.
+     */
+    List<CacheStatistics> getStatistics();
+
+}
@@ -0,0 +1,67 @@
+package io.rhizomatic.api.cache;
+
+/**
+ * Point-in-time statistics for a cache.
+ */
+public class CacheStatistics {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CacheStatistics(String name, long size, long hitCount, long missCount, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the cache name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups that returned a cached value.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not return a cached value.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was full or the entry expired. Invalidated entries are not counted.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of hits to lookups, or 1 if there were no lookups.
+     */
+    public double getHitRate() {
+        var lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    public String toString() {
+        return name + " [size=" + size + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+}
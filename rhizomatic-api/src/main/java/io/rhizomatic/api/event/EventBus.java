@@ -0,0 +1,28 @@
+package io.rhizomatic.api.event;
+
+import java.util.List;
+
+/**
+ * Dispatches events to {@link EventSubscriber}s. Each subscriber has a bounded queue and a dedicated delivery thread, so a slow subscriber does not delay others.
+ * Events are delivered to a subscriber in the order they were published by a given thread.
+ * <p>
+ * The bus is started after application services are wired. Events published before then, for example from initialization callbacks of eager services, are buffered
+ * and delivered when the bus starts. If the buffer is full, the event is dropped.
+ */
+public interface EventBus {
+
+    /**
+     * Publishes an event to all subscribers of its type. If a subscriber queue is full, its {@link OverflowPolicy} determines if the caller blocks or the event is dropped
+     * for that subscriber.
+     *
+     * @param event the event
+     * @return true if the event was enqueued for all matching subscribers; false if it was dropped by at least one
+     */
+    boolean publish(Object event);
+
+    /**
+     * Returns a snapshot of the metrics for each subscriber.
+     */
+    List<SubscriberMetrics> getMetrics();
+
+}
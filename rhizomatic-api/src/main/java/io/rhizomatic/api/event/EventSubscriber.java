@@ -0,0 +1,35 @@
+package io.rhizomatic.api.event;
+
+import io.rhizomatic.api.annotations.Multiplicity;
+
+import java.util.List;
+
+/**
+ * Receives events published to the {@link EventBus}. Subscribers are services and are discovered when the system is started. Queue size, batching and overflow handling
+ * can be configured by annotating the implementation with {@link Subscription}.
+ *
+ * @param <E> the event type; subscribers receive events assignable to it
+ */
+@Multiplicity
+public interface EventSubscriber<E> {
+
+    /**
+     * Returns the type of events the subscriber receives.
+     */
+    Class<E> getEventType();
+
+    /**
+     * Receives an event.
+     */
+    void onEvent(E event);
+
+    /**
+     * Receives a batch of events in publication order. Batches are only delivered if a batch size greater than 1 is configured. By default, events are passed individually
+     * to {@link #onEvent(Object)}.
+     */
+    default void onEvents(List<E> events) {
+        for (var event : events) {
+            onEvent(event);
+        }
+    }
+}
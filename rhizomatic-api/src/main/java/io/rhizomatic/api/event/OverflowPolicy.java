@@ -0,0 +1,17 @@
+package io.rhizomatic.api.event;
+
+/**
+ * Determines how events are handled when a subscriber queue is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The publisher waits until space is available.
+     */
+    BLOCK,
+
+    /**
+     * The event is dropped for the subscriber.
+     */
+    DROP
+}
@@ -0,0 +1,59 @@
+package io.rhizomatic.api.event;
+
+/**
+ * Point-in-time metrics for a subscriber queue.
+ */
+public class SubscriberMetrics {
+    private String subscriber;
+    private int capacity;
+    private int depth;
+    private long delivered;
+    private long dropped;
+
+    public SubscriberMetrics(String subscriber, int capacity, int depth, long delivered, long dropped) {
+        this.subscriber = subscriber;
+        this.capacity = capacity;
+        this.depth = depth;
+        this.delivered = delivered;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Returns the subscriber name, which is its implementation class name.
+     */
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * Returns the maximum number of undelivered events.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of undelivered events.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of events delivered.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Returns the number of events dropped because the queue was full.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public String toString() {
+        return subscriber + " [depth=" + depth + "/" + capacity + ", delivered=" + delivered + ", dropped=" + dropped + "]";
+    }
+}
@@ -0,0 +1,31 @@
+package io.rhizomatic.api.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures delivery to an {@link EventSubscriber}. Values less than 1 use the system defaults.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Subscription {
+
+    /**
+     * The maximum number of undelivered events.
+     */
+    int capacity() default 0;
+
+    /**
+     * The maximum number of events delivered in a single call to {@link EventSubscriber#onEvents(java.util.List)}.
+     */
+    int batchSize() default 0;
+
+    /**
+     * The action taken when the queue is full.
+     */
+    OverflowPolicy overflow() default OverflowPolicy.BLOCK;
+}
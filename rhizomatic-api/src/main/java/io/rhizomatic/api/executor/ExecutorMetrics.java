@@ -0,0 +1,69 @@
+package io.rhizomatic.api.executor;
+
+/**
+ * Point-in-time metrics for a managed executor.
+ */
+public class ExecutorMetrics {
+    private String name;
+    private int activeThreads;
+    private int queueDepth;
+    private long completedTasks;
+    private long averageWaitNanos;
+    private long averageRunNanos;
+
+    public ExecutorMetrics(String name, int activeThreads, int queueDepth, long completedTasks, long averageWaitNanos, long averageRunNanos) {
+        this.name = name;
+        this.activeThreads = activeThreads;
+        this.queueDepth = queueDepth;
+        this.completedTasks = completedTasks;
+        this.averageWaitNanos = averageWaitNanos;
+        this.averageRunNanos = averageRunNanos;
+    }
+
+    /**
+     * Returns the executor name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of threads running tasks.
+     */
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    /**
+     * Returns the number of tasks waiting to run.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the number of tasks that have completed.
+     */
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * Returns the average time completed tasks waited before running. Not tracked for scheduled executors, where waiting is intended.
+     */
+    public long getAverageWaitNanos() {
+        return averageWaitNanos;
+    }
+
+    /**
+     * Returns the average time completed tasks took to run.
+     */
+    public long getAverageRunNanos() {
+        return averageRunNanos;
+    }
+
+    public String toString() {
+        return name + " [active=" + activeThreads + ", queued=" + queueDepth + ", completed=" + completedTasks + ", wait=" + averageWaitNanos + "ns, run="
+               + averageRunNanos + "ns]";
+    }
+}
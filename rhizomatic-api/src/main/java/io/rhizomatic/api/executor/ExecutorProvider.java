@@ -0,0 +1,45 @@
+package io.rhizomatic.api.executor;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Provides named executors managed by the runtime. Executors are created on first request and shared by name; they are sized from system configuration, report metrics,
+ * and are shut down when the system shuts down. Services must not shut down managed executors.
+ * <p>
+ * The following configuration keys apply to an executor named {@code name}:
+ * <ul>
+ *     <li>{@code executor.name.threads} - the number of threads for pools, or the maximum number of concurrently running tasks for thread-per-task executors</li>
+ *     <li>{@code executor.name.queue} - the maximum number of queued tasks for pools; tasks submitted when the queue is full are rejected</li>
+ * </ul>
+ */
+public interface ExecutorProvider {
+
+    /**
+     * Returns a pool of platform threads.
+     *
+     * @param name the executor name
+     */
+    ExecutorService getExecutor(String name);
+
+    /**
+     * Returns an executor that runs each task in a new virtual thread. If the runtime does not support virtual threads, platform threads are used.
+     *
+     * @param name the executor name
+     */
+    ExecutorService getThreadPerTaskExecutor(String name);
+
+    /**
+     * Returns a pool of platform threads that schedules tasks.
+     *
+     * @param name the executor name
+     */
+    ScheduledExecutorService getScheduledExecutor(String name);
+
+    /**
+     * Returns a snapshot of the metrics for each executor.
+     */
+    List<ExecutorMetrics> getMetrics();
+
+}
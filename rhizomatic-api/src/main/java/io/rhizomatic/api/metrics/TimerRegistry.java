@@ -0,0 +1,15 @@
+package io.rhizomatic.api.metrics;
+
+import java.util.List;
+
+/**
+ * Provides timings for methods annotated with {@link io.rhizomatic.api.annotations.Timed}.
+ */
+public interface TimerRegistry {
+
+    /**
+     * Returns a snapshot of the timings for each method that has been invoked.
+     */
+    List<TimerSnapshot> getSnapshots();
+
+}
@@ -0,0 +1,97 @@
+package io.rhizomatic.api.metrics;
+
+/**
+ * Point-in-time timings for a method. Percentiles are accurate to within 12.5% of the recorded latency.
+ */
+public class TimerSnapshot {
+    private String name;
+    private long count;
+    private long errorCount;
+    private long meanNanos;
+    private long maxNanos;
+    private long p50Nanos;
+    private long p90Nanos;
+    private long p99Nanos;
+    private long p999Nanos;
+
+    public TimerSnapshot(String name, long count, long errorCount, long meanNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos) {
+        this.name = name;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.meanNanos = meanNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    /**
+     * Returns the timer name, which is the declaring class name and method name separated by a period, followed by the parameter types in parentheses, for example
+     * {@code com.example.Catalog.lookup(int)}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of invocations, including those that threw an exception.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of invocations that threw an exception.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the mean latency.
+     */
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Returns the maximum latency.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the median latency.
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Returns the 90th percentile latency.
+     */
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    /**
+     * Returns the 99th percentile latency.
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Returns the 99.9th percentile latency.
+     */
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public String toString() {
+        return name + " [count=" + count + ", errors=" + errorCount + ", mean=" + meanNanos + "ns, p50=" + p50Nanos + "ns, p90=" + p90Nanos + "ns, p99=" + p99Nanos
+               + "ns, p999=" + p999Nanos + "ns, max=" + maxNanos + "ns]";
+    }
+}
@@ -3,8 +3,18 @@
  *
  * The annotations package contains annotations for configuring module types and service implementations.
  *
+ * The batch package provides loaders that coalesce individual loads into bulk operations.
+ *
+ * The cache package provides access to caches backing cached service methods and the off-heap byte cache.
+ *
+ * The event package contains the event bus and subscriber contracts.
+ *
+ * The executor package provides access to executors managed by the runtime.
+ *
  * The layer package contains the model and classes for building layer configurations.
  *
+ * The metrics package provides timings of service methods.
+ *
  * {@link io.rhizomatic.api.SystemDefinition} is used by bootstrap modules to configure a system. Bootstrap modules (or library modules) may optionally supply a
  * {@link io.rhizomatic.api.Monitor} implementation using a JPMS ServiceLoader provider to capture and report log and other system events.
  */
@@ -12,7 +22,12 @@ module io.rhizomatic.api {
 
     exports io.rhizomatic.api;
     exports io.rhizomatic.api.annotations;
+    exports io.rhizomatic.api.batch;
+    exports io.rhizomatic.api.cache;
+    exports io.rhizomatic.api.event;
+    exports io.rhizomatic.api.executor;
     exports io.rhizomatic.api.layer;
+    exports io.rhizomatic.api.metrics;
     exports io.rhizomatic.api.web;
 
 }
\ No newline at end of file
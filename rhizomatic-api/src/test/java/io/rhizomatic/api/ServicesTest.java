@@ -0,0 +1,55 @@
+package io.rhizomatic.api;
+
+import io.rhizomatic.api.testing.Allocations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *
+ */
+public class ServicesTest {
+
+    @Test
+    public void verifyOrderedAndImmutable() {
+        var set = new LinkedHashSet<>(List.of("c", "a", "b"));
+        var services = Services.of(set);
+
+        Assertions.assertEquals(List.of("c", "a", "b"), services);
+        Assertions.assertEquals("a", services.get(1));
+        Assertions.assertSame(services, Services.of(services));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> services.add("d"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> services.set(0, "d"));
+        Assertions.assertTrue(Services.of(List.of()).isEmpty());
+    }
+
+    @Test
+    public void verifyFanOutDoesNotAllocate() throws Exception {
+        var subscribers = new LinkedHashSet<Subscriber>();
+        for (var i = 0; i < 8; i++) {
+            subscribers.add(new Subscriber());
+        }
+        var services = Services.of(subscribers);
+
+        var iterations = 1_000_000;
+        var allocated = Allocations.measure(() -> {
+            for (var i = 0; i < iterations; i++) {
+                services.forEach(Subscriber.DISPATCH);
+            }
+        });
+
+        Assertions.assertTrue(allocated < iterations, "Allocated " + allocated + " bytes for " + iterations + " dispatches");
+        for (var subscriber : services) {
+            Assertions.assertEquals(2 * iterations, subscriber.received);
+        }
+    }
+
+    private static class Subscriber {
+        static final Consumer<Subscriber> DISPATCH = subscriber -> subscriber.received++;
+
+        long received;
+    }
+}
@@ -0,0 +1,54 @@
+package io.rhizomatic.api.testing;
+
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.reflect.Method;
+
+/**
+ * Measures bytes allocated by the current thread. The allocation counter is a JDK extension, which is accessed reflectively since it is not part of the module graph;
+ * measurements are skipped if the runtime does not support it.
+ */
+public class Allocations {
+    private static final Object THREAD_BEAN;
+    private static final Method ALLOCATED_BYTES;
+
+    static {
+        Object threadBean = null;
+        Method allocatedBytes = null;
+        try {
+            threadBean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+            allocatedBytes = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // not supported by the runtime
+        }
+        THREAD_BEAN = threadBean;
+        ALLOCATED_BYTES = allocatedBytes;
+    }
+
+    /**
+     * Runs the operation once to warm up and again while measuring.
+     *
+     * @param operation the operation, which typically loops over the code being measured
+     * @return the bytes allocated by the current thread during the measured run
+     */
+    public static long measure(Operation operation) throws Exception {
+        Assumptions.assumeTrue(ALLOCATED_BYTES != null, "Thread allocation counters are not supported");
+        var threadId = Thread.currentThread().getId();
+        operation.run();
+        var before = (long) ALLOCATED_BYTES.invoke(THREAD_BEAN, threadId);
+        operation.run();
+        return (long) ALLOCATED_BYTES.invoke(THREAD_BEAN, threadId) - before;
+    }
+
+    /**
+     * The code being measured.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        void run() throws Exception;
+    }
+
+    private Allocations() {
+    }
+}
@@ -0,0 +1,68 @@
+package io.rhizomatic.event;
+
+import io.rhizomatic.api.event.EventBus;
+import io.rhizomatic.api.event.EventSubscriber;
+import io.rhizomatic.event.bus.RzEventBus;
+import io.rhizomatic.kernel.spi.SystemConfiguration;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+import io.rhizomatic.kernel.spi.subsystem.Subsystem;
+import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+
+import static io.rhizomatic.kernel.spi.util.ConfigurationHelper.getInt;
+import static io.rhizomatic.kernel.spi.util.ConfigurationHelper.getLong;
+
+/**
+ * Loads the Event subsystem. Provides the {@link EventBus} to services and delivers events to subscriber services once the application is initialized.
+ * <p>
+ * Subsystems are initialized in the order they are loaded, so eager services may be started before the bus. Events published before the bus starts are buffered and
+ * delivered when it starts.
+ */
+public class EventSubsystem extends Subsystem {
+    @SystemConfiguration
+    private static final String QUEUE_CAPACITY = "event.queue.capacity";
+    @SystemConfiguration
+    private static final String BATCH_SIZE = "event.batch.size";
+    @SystemConfiguration
+    private static final String VIRTUAL_THREADS = "event.virtual.threads";
+    @SystemConfiguration
+    private static final String SHUTDOWN_TIMEOUT = "event.shutdown.timeout";
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_BATCH_SIZE = 1;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT = 5000;
+
+    private RzEventBus eventBus;
+    private long shutdownTimeout;
+
+    public EventSubsystem() {
+        super("rhizomatic.event");
+    }
+
+    public void assemble(SubsystemContext context) {
+        var capacity = positiveOrDefault(getInt(context, QUEUE_CAPACITY, DEFAULT_CAPACITY), DEFAULT_CAPACITY);
+        var batchSize = positiveOrDefault(getInt(context, BATCH_SIZE, DEFAULT_BATCH_SIZE), DEFAULT_BATCH_SIZE);
+        var virtual = context.getConfiguration(Boolean.class, VIRTUAL_THREADS);
+        shutdownTimeout = getLong(context, SHUTDOWN_TIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT);
+
+        eventBus = new RzEventBus(context.getMonitor(), capacity, batchSize, virtual == null || virtual);
+        context.resolve(InstanceManager.class).register(EventBus.class, eventBus);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public void applicationInitialize(SubsystemContext context) {
+        Iterable<EventSubscriber> subscribers = context.resolve(InstanceManager.class).resolveAll(EventSubscriber.class);
+        eventBus.start(subscribers);
+    }
+
+    public void shutdown() {
+        if (eventBus != null) {
+            eventBus.shutdown(shutdownTimeout);
+            eventBus = null;
+        }
+    }
+
+    private int positiveOrDefault(int value, int defaultValue) {
+        return value > 0 ? value : defaultValue;
+    }
+
+}
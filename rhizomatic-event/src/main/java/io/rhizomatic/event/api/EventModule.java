@@ -0,0 +1,20 @@
+package io.rhizomatic.event.api;
+
+import io.rhizomatic.event.EventSubsystem;
+import io.rhizomatic.kernel.spi.subsystem.Subsystems;
+
+/**
+ * Installs the Event extension in test and classpath-based environments.
+ */
+public class EventModule {
+
+    /**
+     * Enables the extension.
+     */
+    public static void install() {
+        Subsystems.install(new EventSubsystem());
+    }
+
+    private EventModule() {
+    }
+}
@@ -0,0 +1,97 @@
+package io.rhizomatic.event.bus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free, bounded, multi-producer single-consumer queue backed by a ring buffer. Each slot carries a sequence number that producers claim by advancing the tail with
+ * a CAS; a slot is published to the consumer when its sequence is updated, so producers never block one another.
+ * <p>
+ * Capacity is rounded up to a power of two.
+ */
+public class BoundedQueue<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;   // written only by the consumer
+
+    public BoundedQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than zero: " + capacity);
+        }
+        var size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (var i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Enqueues the element if space is available. May be called by multiple threads.
+     *
+     * @param element the element
+     * @return true if enqueued; false if the queue is full
+     */
+    public boolean offer(E element) {
+        var position = tail.get();
+        while (true) {
+            var index = (int) (position & mask);
+            var difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = element;
+                    sequences.set(index, position + 1);  // publish
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;  // the slot has not been consumed since the previous lap
+            } else {
+                position = tail.get();  // another producer claimed the slot
+            }
+        }
+    }
+
+    /**
+     * Dequeues an element. Must only be called by the consumer thread.
+     *
+     * @return the element or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        var position = head;
+        var index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        var element = (E) buffer[index];
+        buffer[index] = null;
+        sequences.set(index, position + buffer.length);  // release the slot for the next lap
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Returns true if there are no published elements. Must only be called by the consumer thread.
+     */
+    public boolean isEmpty() {
+        var position = head;
+        return sequences.get((int) (position & mask)) != position + 1;
+    }
+
+    /**
+     * Returns the approximate number of elements in the queue.
+     */
+    public int size() {
+        var size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+}
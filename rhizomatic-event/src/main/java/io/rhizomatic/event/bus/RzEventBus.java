@@ -0,0 +1,164 @@
+package io.rhizomatic.event.bus;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.event.EventBus;
+import io.rhizomatic.api.event.EventSubscriber;
+import io.rhizomatic.api.event.OverflowPolicy;
+import io.rhizomatic.api.event.Subscription;
+import io.rhizomatic.api.event.SubscriberMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.rhizomatic.kernel.spi.util.Cast.cast;
+
+/**
+ * Default event bus implementation. The subscriber queues matching an event type are resolved once per type and cached, so publishing does not allocate or hash.
+ * <p>
+ * Events published before the bus is started are buffered, up to the default queue capacity, and delivered to the subscribers when it starts.
+ */
+public class RzEventBus implements EventBus {
+    private static final SubscriberQueue[] NO_QUEUES = new SubscriberQueue[0];
+
+    private Monitor monitor;
+    private int defaultCapacity;
+    private int defaultBatchSize;
+    private boolean virtual;
+
+    private volatile SubscriberQueue[] queues;
+    private volatile ClassValue<SubscriberQueue[]> routes;
+    private List<Object> pending = new ArrayList<>();  // events published before start, guarded by this
+
+    /**
+     * Constructor.
+     *
+     * @param monitor the monitor
+     * @param defaultCapacity the queue capacity used if a subscriber does not specify one
+     * @param defaultBatchSize the batch size used if a subscriber does not specify one
+     * @param virtual true if delivery threads should be virtual threads when supported by the runtime
+     */
+    public RzEventBus(Monitor monitor, int defaultCapacity, int defaultBatchSize, boolean virtual) {
+        this.monitor = monitor;
+        this.defaultCapacity = defaultCapacity;
+        this.defaultBatchSize = defaultBatchSize;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Starts delivery to the subscribers.
+     *
+     * @param subscribers the subscribers
+     */
+    @SuppressWarnings("rawtypes")
+    public synchronized void start(Iterable<? extends EventSubscriber> subscribers) {
+        if (queues != null) {
+            throw new IllegalStateException("Event bus already started");
+        }
+        var created = new ArrayList<SubscriberQueue>();
+        for (var subscriber : subscribers) {
+            var subscription = subscriber.getClass().getAnnotation(Subscription.class);
+            var capacity = subscription != null && subscription.capacity() > 0 ? subscription.capacity() : defaultCapacity;
+            var batchSize = subscription != null && subscription.batchSize() > 0 ? subscription.batchSize() : defaultBatchSize;
+            var overflow = subscription != null ? subscription.overflow() : OverflowPolicy.BLOCK;
+            created.add(new SubscriberQueue(cast(subscriber), capacity, batchSize, overflow, virtual, monitor));
+        }
+        var snapshot = created.toArray(NO_QUEUES);
+        routes = new ClassValue<>() {
+            protected SubscriberQueue[] computeValue(Class<?> type) {
+                var matching = new ArrayList<SubscriberQueue>();
+                for (var queue : snapshot) {
+                    if (queue.accepts(type)) {
+                        matching.add(queue);
+                    }
+                }
+                return matching.toArray(NO_QUEUES);
+            }
+        };
+        queues = snapshot;
+        for (var queue : snapshot) {
+            queue.start();
+        }
+        // deliver buffered events before events from publishers waiting on the lock
+        for (var event : pending) {
+            publish(event);
+        }
+        pending.clear();
+    }
+
+    public boolean publish(Object event) {
+        var current = routes;
+        if (current == null) {
+            synchronized (this) {
+                current = routes;
+                if (current == null) {
+                    return buffer(event);
+                }
+            }
+        }
+        var enqueued = true;
+        for (var queue : current.get(event.getClass())) {
+            enqueued &= queue.publish(event);
+        }
+        return enqueued;
+    }
+
+    public List<SubscriberMetrics> getMetrics() {
+        var current = queues;
+        if (current == null) {
+            return List.of();
+        }
+        var metrics = new ArrayList<SubscriberMetrics>(current.length);
+        for (var queue : current) {
+            metrics.add(queue.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Stops accepting events and waits for queued events to be delivered.
+     *
+     * @param timeoutMillis the maximum time to wait for all subscribers
+     */
+    public synchronized void shutdown(long timeoutMillis) {
+        var current = queues;
+        if (current == null) {
+            if (!pending.isEmpty()) {
+                var discarded = pending.size();
+                monitor.info(() -> "Event bus not started. Events discarded: " + discarded);
+                pending.clear();
+            }
+            return;
+        }
+        for (var queue : current) {
+            queue.stop();
+        }
+        var deadline = System.currentTimeMillis() + timeoutMillis;
+        for (var queue : current) {
+            try {
+                var remaining = Math.max(1, deadline - System.currentTimeMillis());
+                if (!queue.awaitTermination(remaining)) {
+                    monitor.severe(() -> "Timed out delivering events to " + queue.getName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        for (var metrics : getMetrics()) {
+            if (metrics.getDropped() > 0) {
+                monitor.info(() -> "Events dropped: " + metrics);
+            }
+        }
+    }
+
+    /**
+     * Buffers an event published before the bus is started. Must be called holding the lock.
+     */
+    private boolean buffer(Object event) {
+        if (pending.size() >= defaultCapacity) {
+            return false;
+        }
+        pending.add(event);
+        return true;
+    }
+}
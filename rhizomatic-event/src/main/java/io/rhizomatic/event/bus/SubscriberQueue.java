@@ -0,0 +1,157 @@
+package io.rhizomatic.event.bus;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.event.EventSubscriber;
+import io.rhizomatic.api.event.OverflowPolicy;
+import io.rhizomatic.api.event.SubscriberMetrics;
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers events to a subscriber from a bounded queue on a dedicated thread.
+ * <p>
+ * The delivery thread parks when the queue is empty. Publishers unpark it only if it has announced it is waiting, so an uncontended publish does not make a system call.
+ */
+public class SubscriberQueue {
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private EventSubscriber<Object> subscriber;
+    private String name;
+    private int batchSize;
+    private OverflowPolicy overflow;
+    private Monitor monitor;
+
+    private BoundedQueue<Object> queue;
+    private Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+    private volatile long delivered;  // written only by the delivery thread
+    private AtomicLong dropped = new AtomicLong();
+
+    public SubscriberQueue(EventSubscriber<Object> subscriber, int capacity, int batchSize, OverflowPolicy overflow, boolean virtual, Monitor monitor) {
+        this.subscriber = subscriber;
+        this.name = subscriber.getClass().getName();
+        this.batchSize = batchSize;
+        this.overflow = overflow;
+        this.monitor = monitor;
+        queue = new BoundedQueue<>(capacity);
+        thread = VirtualThreads.newThread("rz-event-" + subscriber.getClass().getSimpleName(), virtual, this::deliver);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Enqueues the event, blocking or dropping it according to the overflow policy if the queue is full.
+     *
+     * @return true if the event was enqueued
+     */
+    public boolean publish(Object event) {
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        while (!queue.offer(event)) {
+            if (overflow == OverflowPolicy.DROP || !running) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            wake();
+            LockSupport.parkNanos(BACKOFF_NANOS);
+        }
+        if (waiting) {
+            wake();
+        }
+        return true;
+    }
+
+    /**
+     * Stops accepting events. Queued events continue to be delivered.
+     */
+    public void stop() {
+        running = false;
+        wake();
+    }
+
+    /**
+     * Waits for queued events to be delivered after the queue is stopped.
+     *
+     * @return true if the delivery thread completed within the timeout
+     */
+    public boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+        return !thread.isAlive();
+    }
+
+    /**
+     * Returns true if the subscriber receives events of the type.
+     */
+    public boolean accepts(Class<?> eventType) {
+        return subscriber.getEventType().isAssignableFrom(eventType);
+    }
+
+    public SubscriberMetrics getMetrics() {
+        return new SubscriberMetrics(name, queue.capacity(), queue.size(), delivered, dropped.get());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void wake() {
+        LockSupport.unpark(thread);
+    }
+
+    private void deliver() {
+        var batch = batchSize > 1 ? new ArrayList<>(batchSize) : null;
+        while (true) {
+            var event = queue.poll();
+            if (event == null) {
+                if (!running) {
+                    return;  // drained
+                }
+                waiting = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                waiting = false;
+                continue;
+            }
+            if (batch == null) {
+                dispatch(event);
+            } else {
+                batch.add(event);
+                while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                    batch.add(event);
+                }
+                dispatch(batch);
+                batch = new ArrayList<>(batchSize);  // subscribers may retain the delivered batch
+            }
+        }
+    }
+
+    private void dispatch(Object event) {
+        try {
+            subscriber.onEvent(event);
+        } catch (RuntimeException e) {
+            monitor.severe(() -> "Error delivering event to " + name, e);
+        }
+        delivered = delivered + 1;
+    }
+
+    private void dispatch(ArrayList<Object> batch) {
+        try {
+            subscriber.onEvents(batch);
+        } catch (RuntimeException e) {
+            monitor.severe(() -> "Error delivering events to " + name, e);
+        }
+        delivered = delivered + batch.size();
+    }
+}
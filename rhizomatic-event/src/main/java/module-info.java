@@ -0,0 +1,17 @@
+import io.rhizomatic.event.EventSubsystem;
+import io.rhizomatic.kernel.spi.subsystem.Subsystem;
+
+/**
+ * Provides an in-process event bus. Services publish events using {@link io.rhizomatic.api.event.EventBus} and receive them by implementing
+ * {@link io.rhizomatic.api.event.EventSubscriber}.
+ */
+module io.rhizomatic.event {
+
+    exports io.rhizomatic.event.api;
+
+    requires io.rhizomatic.api;
+    requires io.rhizomatic.kernel;
+    requires static org.jetbrains.annotations;
+
+    provides Subsystem with EventSubsystem;
+}
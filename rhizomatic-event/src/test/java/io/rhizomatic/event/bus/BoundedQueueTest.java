@@ -0,0 +1,28 @@
+package io.rhizomatic.event.bus;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class BoundedQueueTest {
+
+    @Test
+    public void verifyBoundedFifo() {
+        var queue = new BoundedQueue<Integer>(3);
+        Assertions.assertEquals(4, queue.capacity());
+        for (var lap = 0; lap < 3; lap++) {
+            for (var i = 0; i < 4; i++) {
+                Assertions.assertTrue(queue.offer(i));
+            }
+            Assertions.assertFalse(queue.offer(4));
+            Assertions.assertEquals(4, queue.size());
+            for (var i = 0; i < 4; i++) {
+                Assertions.assertEquals(i, queue.poll());
+            }
+            Assertions.assertNull(queue.poll());
+            Assertions.assertTrue(queue.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.rhizomatic.event.bus;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.event.EventSubscriber;
+import io.rhizomatic.api.event.OverflowPolicy;
+import io.rhizomatic.api.event.Subscription;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ */
+public class RzEventBusTest {
+
+    @Test
+    public void verifyOrderedDeliveryByType() {
+        var bus = new RzEventBus(new Monitor() {
+        }, 16, 1, true);
+        var strings = new StringSubscriber();
+        var numbers = new NumberSubscriber();
+        bus.start(List.of(strings, numbers));
+
+        for (var i = 0; i < 1000; i++) {
+            Assertions.assertTrue(bus.publish("event" + i));
+        }
+        bus.publish(1);
+        bus.publish(2L);
+        bus.shutdown(10_000);
+
+        Assertions.assertEquals(1000, strings.received.size());
+        for (var i = 0; i < 1000; i++) {
+            Assertions.assertEquals("event" + i, strings.received.get(i));
+        }
+        Assertions.assertEquals(List.of(1, 2L), numbers.received);
+        Assertions.assertEquals(1000, bus.getMetrics().get(0).getDelivered());
+        Assertions.assertEquals(0, bus.getMetrics().get(0).getDropped());
+    }
+
+    @Test
+    public void verifyBatching() {
+        var bus = new RzEventBus(new Monitor() {
+        }, 1024, 1, true);
+        var subscriber = new BatchingSubscriber();
+        bus.start(List.of(subscriber));
+
+        for (var i = 0; i < 500; i++) {
+            bus.publish("event" + i);
+        }
+        bus.shutdown(10_000);
+
+        var total = 0;
+        for (var size : subscriber.batchSizes) {
+            Assertions.assertTrue(size <= 10);
+            total += size;
+        }
+        Assertions.assertEquals(500, total);
+    }
+
+    @Test
+    public void verifyDropPolicy() throws Exception {
+        var bus = new RzEventBus(new Monitor() {
+        }, 1024, 1, true);
+        var subscriber = new DroppingSubscriber();
+        bus.start(List.of(subscriber));
+
+        Assertions.assertTrue(bus.publish("first"));
+        Assertions.assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));  // the delivery thread is now blocked
+        var accepted = 0;
+        for (var i = 0; i < 10; i++) {
+            if (bus.publish("event" + i)) {
+                accepted++;
+            }
+        }
+        Assertions.assertEquals(4, accepted);
+        var metrics = bus.getMetrics().get(0);
+        Assertions.assertEquals(4, metrics.getDepth());
+        Assertions.assertEquals(6, metrics.getDropped());
+
+        subscriber.release.countDown();
+        bus.shutdown(10_000);
+        Assertions.assertEquals(5, bus.getMetrics().get(0).getDelivered());
+    }
+
+    @Test
+    public void verifyBlockPolicyWithConcurrentPublishers() throws Exception {
+        var bus = new RzEventBus(new Monitor() {
+        }, 4, 1, true);
+        var subscriber = new StringSubscriber();
+        bus.start(List.of(subscriber));
+
+        var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 4; t++) {
+            var prefix = "t" + t + "-";
+            var thread = new Thread(() -> {
+                for (var i = 0; i < 2500; i++) {
+                    Assertions.assertTrue(bus.publish(prefix + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        bus.shutdown(10_000);
+
+        Assertions.assertEquals(10_000, subscriber.received.size());
+        Assertions.assertEquals(0, bus.getMetrics().get(0).getDropped());
+        for (var t = 0; t < 4; t++) {
+            var prefix = "t" + t + "-";
+            var last = -1;
+            for (var event : subscriber.received) {
+                if (event.startsWith(prefix)) {
+                    var index = Integer.parseInt(event.substring(prefix.length()));
+                    Assertions.assertTrue(index > last);  // per-publisher order is preserved
+                    last = index;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void verifyPublishBeforeStart() {
+        var bus = new RzEventBus(new Monitor() {
+        }, 2, 1, true);
+        Assertions.assertTrue(bus.publish("event1"));
+        Assertions.assertTrue(bus.publish("event2"));
+        Assertions.assertFalse(bus.publish("event3"));  // buffer is full
+
+        var subscriber = new StringSubscriber();
+        bus.start(List.of(subscriber));
+        bus.publish("event4");
+        bus.shutdown(10_000);
+
+        Assertions.assertEquals(List.of("event1", "event2", "event4"), subscriber.received);
+    }
+
+    private static class StringSubscriber implements EventSubscriber<String> {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        public Class<String> getEventType() {
+            return String.class;
+        }
+
+        public void onEvent(String event) {
+            received.add(event);
+        }
+    }
+
+    private static class NumberSubscriber implements EventSubscriber<Number> {
+        List<Number> received = Collections.synchronizedList(new ArrayList<>());
+
+        public Class<Number> getEventType() {
+            return Number.class;
+        }
+
+        public void onEvent(Number event) {
+            received.add(event);
+        }
+    }
+
+    @Subscription(batchSize = 10)
+    private static class BatchingSubscriber implements EventSubscriber<String> {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        public Class<String> getEventType() {
+            return String.class;
+        }
+
+        public void onEvent(String event) {
+            throw new AssertionError("Events must be delivered in batches");
+        }
+
+        public void onEvents(List<String> events) {
+            batchSizes.add(events.size());
+        }
+    }
+
+    @Subscription(capacity = 4, overflow = OverflowPolicy.DROP)
+    private static class DroppingSubscriber implements EventSubscriber<String> {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        public Class<String> getEventType() {
+            return String.class;
+        }
+
+        public void onEvent(String event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.rhizomatic.inject.gen;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.inject.gen.runtime.GeneratedInstanceManager;
+import io.rhizomatic.inject.gen.scan.InjectionIntrospector;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+import io.rhizomatic.kernel.spi.scan.Introspector;
+import io.rhizomatic.kernel.spi.subsystem.Subsystem;
+import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+
+import java.util.Set;
+
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.INJECTION_MODE;
+
+/**
+ * Loads the generated injection subsystem. Provides service injection and wiring using factories generated at build time instead of runtime reflection.
+ * <p>
+ * If the Guice-based injection subsystem is also installed, {@code injection.mode} must be set to select one of them.
+ */
+public class GeneratedInjectionSubsystem extends Subsystem {
+    public static final String MODE = "generated";
+
+    private static final Set<String> OPENS = Set.of("io.rhizomatic.inject.gen");
+    private GeneratedInstanceManager instanceManager;
+
+    public GeneratedInjectionSubsystem() {
+        super("rhizomatic.injection.generated");
+    }
+
+    public Set<String> openModulesTo() {
+        return OPENS;
+    }
+
+    public void instantiate(SubsystemContext context) {
+        var mode = context.getConfiguration(String.class, INJECTION_MODE);
+        if (mode != null && !MODE.equals(mode)) {
+            return;
+        }
+        var introspector = new InjectionIntrospector();
+        context.registerService(Introspector.class, introspector);
+
+        instanceManager = new GeneratedInstanceManager();
+        context.registerService(InstanceManager.class, instanceManager);
+    }
+
+    public void assemble(SubsystemContext context) {
+        if (instanceManager != null && context.resolveAll(InstanceManager.class).size() > 1) {
+            throw new RhizomaticException("More than one injection subsystem is installed. Set " + INJECTION_MODE + " to select one.");
+        }
+    }
+
+    public void applicationInitialize(SubsystemContext context) {
+        if (instanceManager != null) {
+            instanceManager.startInstances();
+        }
+    }
+
+    public void shutdown() {
+        instanceManager = null;
+    }
+
+}
@@ -0,0 +1,20 @@
+package io.rhizomatic.inject.gen.api;
+
+import io.rhizomatic.inject.gen.GeneratedInjectionSubsystem;
+import io.rhizomatic.kernel.spi.subsystem.Subsystems;
+
+/**
+ * Installs the generated injection extension in test and classpath-based environments.
+ */
+public class GeneratedInjectionModule {
+
+    /**
+     * Enables the extension.
+     */
+    public static void install() {
+        Subsystems.install(new GeneratedInjectionSubsystem());
+    }
+
+    private GeneratedInjectionModule() {
+    }
+}
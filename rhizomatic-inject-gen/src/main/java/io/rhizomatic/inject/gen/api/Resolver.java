@@ -0,0 +1,24 @@
+package io.rhizomatic.inject.gen.api;
+
+import java.util.Set;
+
+/**
+ * Resolves dependencies for generated factories.
+ */
+public interface Resolver {
+
+    /**
+     * Resolves the instance bound to the type.
+     *
+     * @param type the type
+     */
+    <T> T resolve(Class<T> type);
+
+    /**
+     * Resolves all instances bound to the type.
+     *
+     * @param type the type
+     */
+    <T> Set<T> resolveAll(Class<T> type);
+
+}
@@ -0,0 +1,29 @@
+package io.rhizomatic.inject.gen.api;
+
+/**
+ * Creates and injects instances of a service. Implementations are generated at build time for classes annotated with {@code @Service} and are named after the service
+ * class with the {@link #SUFFIX} appended.
+ */
+public interface ServiceFactory<T> {
+
+    /**
+     * The suffix appended to the service binary class name to derive the factory class name.
+     */
+    String SUFFIX = "$RzFactory";
+
+    /**
+     * Creates an instance, resolving constructor parameters.
+     *
+     * @param resolver resolves dependencies
+     */
+    T create(Resolver resolver);
+
+    /**
+     * Injects fields and methods of the instance and invokes initialization callbacks.
+     *
+     * @param instance the instance
+     * @param resolver resolves dependencies
+     */
+    void inject(T instance, Resolver resolver);
+
+}
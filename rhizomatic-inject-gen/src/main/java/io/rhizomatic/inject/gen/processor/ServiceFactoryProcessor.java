@@ -0,0 +1,298 @@
+package io.rhizomatic.inject.gen.processor;
+
+import io.rhizomatic.inject.gen.api.ServiceFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Generates a {@link ServiceFactory} for each class annotated with {@code @Service}. Generated factories invoke constructors, inject fields and methods, and call
+ * {@code @Init} callbacks directly so no reflection is required at runtime.
+ * <p>
+ * Injection sites are identified by {@code javax.inject.Inject} or {@code com.google.inject.Inject}. Supported dependency types are services, {@code Set}s and
+ * {@code Services} of services, and {@code Provider}s of services. {@code @Lazy} is supported on {@code Provider} fields, which resolve their target on first access.
+ * Since generated factories reside in the service package, injected members may not be private.
+ */
+@SupportedAnnotationTypes(ServiceFactoryProcessor.SERVICE)
+public class ServiceFactoryProcessor extends AbstractProcessor {
+    static final String SERVICE = "io.rhizomatic.api.annotations.Service";
+
+    private static final String INIT = "io.rhizomatic.api.annotations.Init";
+    private static final String LAZY = "io.rhizomatic.api.annotations.Lazy";
+    private static final Set<String> INJECT = Set.of("javax.inject.Inject", "com.google.inject.Inject");
+    private static final Set<String> PROVIDERS = Set.of("javax.inject.Provider", "com.google.inject.Provider");
+    private static final String SET = "java.util.Set";
+    private static final String SERVICES = "io.rhizomatic.api.Services";
+
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var annotation : annotations) {
+            for (var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            error("Service classes must not be private", type);
+            return;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            error("Nested service classes must be static", type);
+            return;
+        }
+        var elements = processingEnv.getElementUtils();
+        var packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        var binaryName = elements.getBinaryName(type).toString();
+        var factoryName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + ServiceFactory.SUFFIX;
+        var typeName = erasure(type.asType());
+
+        var constructor = selectConstructor(type);
+        if (constructor == null) {
+            return;
+        }
+        var arguments = arguments(constructor);
+        var members = injectMembers(type);
+        if (arguments == null || members == null) {
+            return;
+        }
+
+        var source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(ServiceFactoryProcessor.class.getName()).append(". Do not edit.\n */\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(factoryName).append(" implements ").append(ServiceFactory.class.getName()).append("<").append(typeName).append("> {\n\n");
+
+        source.append("    public ").append(typeName).append(" create(io.rhizomatic.inject.gen.api.Resolver resolver) {\n");
+        source.append("        try {\n");
+        source.append("            return new ").append(typeName).append("(").append(arguments).append(");\n");
+        appendCatch(source);
+        source.append("    }\n\n");
+
+        source.append("    public void inject(").append(typeName).append(" instance, io.rhizomatic.inject.gen.api.Resolver resolver) {\n");
+        source.append("        try {\n");
+        for (var member : members) {
+            source.append("            ").append(member).append(";\n");
+        }
+        appendCatch(source);
+        source.append("    }\n\n");
+        source.append("}\n");
+
+        var qualifiedName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+        try (var writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error("Error generating factory: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Returns the constructor annotated with {@code @Inject} or the no-args constructor.
+     */
+    private ExecutableElement selectConstructor(TypeElement type) {
+        ExecutableElement injectConstructor = null;
+        ExecutableElement noArgsConstructor = null;
+        for (var constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (isInject(constructor)) {
+                if (injectConstructor != null) {
+                    error("More than one constructor is annotated with @Inject", constructor);
+                    return null;
+                }
+                injectConstructor = constructor;
+            } else if (constructor.getParameters().isEmpty()) {
+                noArgsConstructor = constructor;
+            }
+        }
+        var constructor = injectConstructor != null ? injectConstructor : noArgsConstructor;
+        if (constructor == null) {
+            error("Service classes must have a constructor annotated with @Inject or a no-args constructor", type);
+            return null;
+        }
+        if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+            error("Injected constructors must not be private", constructor);
+            return null;
+        }
+        return constructor;
+    }
+
+    /**
+     * Returns the statements that inject fields and methods followed by {@code @Init} callbacks. Supertype members are injected before subtype members.
+     */
+    private List<String> injectMembers(TypeElement type) {
+        var hierarchy = new ArrayList<TypeElement>();
+        for (var current = type; current != null; current = superclass(current)) {
+            hierarchy.add(0, current);
+        }
+        var packageOf = processingEnv.getElementUtils().getPackageOf(type);
+        var statements = new ArrayList<String>();
+        for (var current : hierarchy) {
+            var owner = "((" + erasure(current.asType()) + ") instance)";
+            var samePackage = processingEnv.getElementUtils().getPackageOf(current).equals(packageOf);
+            for (var field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                var lazy = hasAnnotation(field, LAZY);
+                if ((!isInject(field) && !lazy) || field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (lazy && (isInject(field) || !isProvider(field.asType()))) {
+                    error("@Lazy fields must be Provider types and must not be annotated with @Inject when using generated injection", field);
+                    return null;
+                }
+                if (!isAccessible(field, samePackage) || field.getModifiers().contains(Modifier.FINAL)) {
+                    error("Injected fields must not be private or final and must be public if declared in a supertype in another package", field);
+                    return null;
+                }
+                var expression = expression(field.asType(), field);
+                if (expression == null) {
+                    return null;
+                }
+                statements.add(owner + "." + field.getSimpleName() + " = " + expression);
+            }
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!isInject(method) || method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                if (!isAccessible(method, samePackage)) {
+                    error("Injected methods must not be private and must be public if declared in a supertype in another package", method);
+                    return null;
+                }
+                var arguments = arguments(method);
+                if (arguments == null) {
+                    return null;
+                }
+                statements.add(owner + "." + method.getSimpleName() + "(" + arguments + ")");
+            }
+        }
+        for (var method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (hasAnnotation(method, INIT) && method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().isEmpty()) {
+                statements.add("instance." + method.getSimpleName() + "()");
+            }
+        }
+        return statements;
+    }
+
+    private String arguments(ExecutableElement executable) {
+        var arguments = new ArrayList<String>();
+        for (var parameter : executable.getParameters()) {
+            var expression = expression(parameter.asType(), parameter);
+            if (expression == null) {
+                return null;
+            }
+            arguments.add(expression);
+        }
+        return arguments.stream().collect(joining(", "));
+    }
+
+    /**
+     * Returns the expression that resolves a dependency of the given type.
+     */
+    private String expression(TypeMirror type, Element element) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            error("Unsupported injection type: " + type, element);
+            return null;
+        }
+        var declaredType = (DeclaredType) type;
+        var rawName = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        if (SET.equals(rawName) || SERVICES.equals(rawName) || PROVIDERS.contains(rawName)) {
+            if (declaredType.getTypeArguments().size() != 1) {
+                error("A type parameter must be specified: " + type, element);
+                return null;
+            }
+            var parameter = declaredType.getTypeArguments().get(0);
+            if (parameter.getKind() == TypeKind.WILDCARD) {
+                var bound = ((WildcardType) parameter).getExtendsBound();
+                parameter = bound != null ? bound : processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType();
+            }
+            var parameterName = erasure(parameter);
+            if (SET.equals(rawName)) {
+                return "(java.util.Set) resolver.resolveAll(" + parameterName + ".class)";
+            } else if (SERVICES.equals(rawName)) {
+                return SERVICES + ".of(resolver.resolveAll(" + parameterName + ".class))";
+            }
+            return "(" + rawName + ") () -> resolver.resolve(" + parameterName + ".class)";
+        }
+        return "resolver.resolve(" + erasure(type) + ".class)";
+    }
+
+    private void appendCatch(StringBuilder source) {
+        source.append("        } catch (RuntimeException e) {\n");
+        source.append("            throw e;\n");
+        source.append("        } catch (Exception e) {\n");
+        source.append("            throw new io.rhizomatic.api.RhizomaticException(e);\n");
+        source.append("        }\n");
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        var superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        var element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return "java.lang.Object".equals(element.getQualifiedName().toString()) ? null : element;
+    }
+
+    private boolean isAccessible(Element element, boolean samePackage) {
+        var modifiers = element.getModifiers();
+        return !modifiers.contains(Modifier.PRIVATE) && (samePackage || modifiers.contains(Modifier.PUBLIC));
+    }
+
+    private boolean isProvider(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && PROVIDERS.contains(((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString());
+    }
+
+    private boolean isInject(Element element) {
+        for (var name : INJECT) {
+            if (hasAnnotation(element, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAnnotation(Element element, String name) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+}
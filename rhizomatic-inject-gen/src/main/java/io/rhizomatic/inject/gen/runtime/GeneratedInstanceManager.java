@@ -0,0 +1,288 @@
+package io.rhizomatic.inject.gen.runtime;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Multiplicity;
+import io.rhizomatic.inject.gen.api.Resolver;
+import io.rhizomatic.inject.gen.api.ServiceFactory;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.rhizomatic.kernel.spi.util.Cast.cast;
+import static java.lang.reflect.Modifier.isAbstract;
+
+/**
+ * Instance manager that wires services using factories generated at build time. All services are singletons.
+ * <p>
+ * Singletons are created under a lock. Instances created while resolving a dependency graph are published once the entire graph has been injected, so other threads never
+ * observe partially injected instances. Circular dependencies are supported through fields and methods but not constructors.
+ * <p>
+ * The lock is held while service constructors and {@code @Init} callbacks run, so a thread creating any singleton waits until another thread has finished creating its
+ * graph. Singletons that have already been created are resolved without taking the lock. Constructors and {@code @Init} callbacks should therefore not block, for example
+ * on work submitted to other threads that resolves services not yet created.
+ */
+public class GeneratedInstanceManager implements InstanceManager {
+    private static final ClassValue<ServiceFactory<?>> FACTORIES = new ClassValue<>() {
+        protected ServiceFactory<?> computeValue(Class<?> type) {
+            return loadFactory(type);
+        }
+    };
+
+    private Map<Class<?>, Object> instances = new HashMap<>();
+    private ScanIndex scanIndex;  // all wired services, including extensions
+    // replaced when services are wired or extended and read when resolving on other threads
+    private volatile Map<Class<?>, List<Class<?>>> bindings = Collections.emptyMap();
+    private volatile Set<Class<?>> eagerServices = Collections.emptySet();
+    private volatile Map<Class<?>, Set<Class<?>>> qualifiedServices = Collections.emptyMap();
+
+    private Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
+    private Map<Class<?>, Set<?>> multiplicities = new ConcurrentHashMap<>();
+    private Map<Class<?>, Set<?>> qualified = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private Map<Class<?>, Object> pending = new HashMap<>();  // instances created but not yet published, guarded by the lock
+    private Set<Class<?>> constructing = new HashSet<>();     // guarded by the lock
+    private int depth;                                        // guarded by the lock
+
+    private Resolver resolver = new Resolver() {
+        public <T> T resolve(Class<T> type) {
+            return GeneratedInstanceManager.this.resolve(type);
+        }
+
+        public <T> Set<T> resolveAll(Class<T> type) {
+            return GeneratedInstanceManager.this.resolveAll(type);
+        }
+    };
+
+    private boolean wired = false;
+    private boolean started = false;
+
+    public void register(Class<?> type, Object instance) {
+        instances.put(type, instance);
+    }
+
+    public void wire(ScanIndex scanIndex) {
+        this.scanIndex = scanIndex;
+        bindings = new HashMap<>(scanIndex.getServiceBindings());
+        eagerServices = new HashSet<>(scanIndex.getEagerServices());
+        qualifiedServices = new HashMap<>(scanIndex.getQualifiedServices());
+        singletons = new ConcurrentHashMap<>();
+        multiplicities = new ConcurrentHashMap<>();
+        qualified = new ConcurrentHashMap<>();
+        wired = true;
+    }
+
+    /**
+     * Binds the services in the index, retaining existing instances. Instances already injected with a multiplicity hold the set resolved when they were created, so if
+     * the index contributes to a multiplicity that is already bound, all services are wired again instead and existing instances are discarded.
+     *
+     * @param scanIndex the index containing the additional services
+     */
+    public void extend(ScanIndex scanIndex) {
+        if (!wired) {
+            wire(scanIndex);
+            return;
+        }
+        var mergedIndex = ScanIndex.Builder.newInstance().merge(this.scanIndex).merge(scanIndex).build();
+        if (contributesToMultiplicity(scanIndex)) {
+            wire(mergedIndex);
+            if (started) {
+                startInstances();
+            }
+            return;
+        }
+        this.scanIndex = mergedIndex;
+        var mergedBindings = new HashMap<>(bindings);
+        for (var entry : scanIndex.getServiceBindings().entrySet()) {
+            var merged = new ArrayList<>(mergedBindings.getOrDefault(entry.getKey(), Collections.emptyList()));
+            for (var implClass : entry.getValue()) {
+                if (!merged.contains(implClass)) {
+                    merged.add(implClass);
+                }
+            }
+            mergedBindings.put(entry.getKey(), merged);
+        }
+        bindings = mergedBindings;
+
+        var mergedQualified = new HashMap<>(qualifiedServices);
+        for (var entry : scanIndex.getQualifiedServices().entrySet()) {
+            var merged = new HashSet<>(mergedQualified.getOrDefault(entry.getKey(), Collections.emptySet()));
+            merged.addAll(entry.getValue());
+            mergedQualified.put(entry.getKey(), merged);
+            qualified.remove(entry.getKey());
+        }
+        qualifiedServices = mergedQualified;
+
+        var mergedEager = new HashSet<>(eagerServices);
+        mergedEager.addAll(scanIndex.getEagerServices());
+        eagerServices = mergedEager;
+
+        if (started) {
+            scanIndex.getEagerServices().forEach(this::getSingleton);
+        }
+    }
+
+    public void startInstances() {
+        checkWired();
+        eagerServices.forEach(this::getSingleton);
+        started = true;
+    }
+
+    public <T> @Nullable T resolve(Class<T> type) {
+        checkWired();
+        var instance = instances.get(type);
+        if (instance != null) {
+            return cast(instance);
+        }
+        var implClasses = bindings.get(type);
+        if (implClasses == null || implClasses.isEmpty()) {
+            if (type.isInterface() || isAbstract(type.getModifiers())) {
+                throw new RhizomaticException("No service bound to type: " + type.getName());
+            }
+            return cast(getSingleton(type));
+        }
+        if (implClasses.size() > 1 || isMultiplicity(type)) {
+            throw new RhizomaticException("Type is bound as a multiplicity and must be resolved as a set: " + type.getName());
+        }
+        return cast(getSingleton(implClasses.get(0)));
+    }
+
+    public <T> Set<T> resolveAll(Class<T> type) {
+        checkWired();
+        var resolved = multiplicities.get(type);
+        if (resolved != null) {
+            return cast(resolved);
+        }
+        var implClasses = bindings.get(type);
+        if (implClasses == null) {
+            if (!isMultiplicity(type)) {
+                throw new RhizomaticException("No service bound to type: " + type.getName());
+            }
+            implClasses = Collections.emptyList();
+        }
+        var set = new LinkedHashSet<>();
+        for (var implClass : implClasses) {
+            set.add(getSingleton(implClass));
+        }
+        resolved = Collections.unmodifiableSet(set);
+        var existing = multiplicities.putIfAbsent(type, resolved);
+        return cast(existing != null ? existing : resolved);
+    }
+
+    public Set<?> resolveQualifiedTypes(Class<?> qualifier) {
+        checkWired();
+        var resolved = qualified.get(qualifier);
+        if (resolved != null) {
+            return resolved;
+        }
+        var implTypes = qualifiedServices.get(qualifier);
+        if (implTypes == null) {
+            return Collections.emptySet();
+        }
+        var set = new LinkedHashSet<>();
+        for (var implType : implTypes) {
+            set.add(resolve(implType));
+        }
+        resolved = Collections.unmodifiableSet(set);
+        var existing = qualified.putIfAbsent(qualifier, resolved);
+        return existing != null ? existing : resolved;
+    }
+
+    /**
+     * Returns the singleton for the implementation class, creating it if necessary.
+     */
+    private Object getSingleton(Class<?> implClass) {
+        var instance = singletons.get(implClass);
+        if (instance != null) {
+            return instance;
+        }
+        synchronized (lock) {
+            instance = singletons.get(implClass);
+            if (instance != null) {
+                return instance;
+            }
+            instance = pending.get(implClass);
+            if (instance != null) {
+                return instance;  // circular reference through a field or method
+            }
+            depth++;
+            var created = false;
+            try {
+                ServiceFactory<Object> factory = cast(FACTORIES.get(implClass));
+                if (!constructing.add(implClass)) {
+                    throw new RhizomaticException("Circular constructor dependency: " + implClass.getName());
+                }
+                try {
+                    instance = factory.create(resolver);
+                } finally {
+                    constructing.remove(implClass);
+                }
+                pending.put(implClass, instance);
+                factory.inject(instance, resolver);
+                created = true;
+            } finally {
+                depth--;
+                if (depth == 0) {
+                    if (created) {
+                        singletons.putAll(pending);  // publish the graph
+                    }
+                    pending.clear();  // on error, partially injected instances are discarded
+                }
+            }
+            return instance;
+        }
+    }
+
+    private static ServiceFactory<?> loadFactory(Class<?> type) {
+        var name = type.getName() + ServiceFactory.SUFFIX;
+        try {
+            var factoryClass = Class.forName(name, true, type.getClassLoader());
+            return (ServiceFactory<?>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new RhizomaticException("Generated factory not found for " + type.getName() + ". Ensure the module is compiled with the io.rhizomatic.inject.gen annotation processor.");
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RhizomaticException("Error loading generated factory: " + name, e);
+        }
+    }
+
+    private void checkWired() {
+        if (!wired) {
+            throw new IllegalStateException(getClass().getName() + " not wired");
+        }
+    }
+
+    /**
+     * Returns true if the index binds a service to a multiplicity contract that is already bound.
+     */
+    private boolean contributesToMultiplicity(ScanIndex scanIndex) {
+        for (var contract : scanIndex.getServiceBindings().keySet()) {
+            if (bindings.containsKey(contract) && isMultiplicity(contract)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMultiplicity(Class<?> type) {
+        if (type.isAnnotationPresent(Multiplicity.class)) {
+            return true;
+        }
+        for (var interfaze : type.getInterfaces()) {
+            if (isMultiplicity(interfaze)) {
+                return true;
+            }
+        }
+        return type.getSuperclass() != null && isMultiplicity(type.getSuperclass());
+    }
+}
@@ -0,0 +1,39 @@
+package io.rhizomatic.inject.gen.scan;
+
+import io.rhizomatic.api.annotations.Eager;
+import io.rhizomatic.api.annotations.Scheduled;
+import io.rhizomatic.api.annotations.Service;
+import io.rhizomatic.kernel.spi.scan.Introspector;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+
+import static java.lang.reflect.Modifier.isAbstract;
+
+/**
+ * Introspects module classes for services and registers them with the scan index. Initialization callbacks are not indexed since they are invoked by generated factories.
+ */
+public class InjectionIntrospector implements Introspector {
+    public void introspect(Class<?> type, ScanIndex.Builder builder) {
+        if (isAbstract(type.getModifiers())) {
+            return;
+        }
+
+        var serviceAnnotation = type.getAnnotation(Service.class);
+
+        if (serviceAnnotation == null) {
+            return;
+        }
+
+        builder.service(type);
+
+        if (type.getAnnotation(Eager.class) != null) {
+            builder.eager(type);
+        }
+
+        // introspect for @Scheduled - only support public methods
+        for (var method : type.getMethods()) {
+            if (method.getAnnotation(Scheduled.class) != null) {
+                builder.scheduled(type, method);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import io.rhizomatic.inject.gen.GeneratedInjectionSubsystem;
+import io.rhizomatic.kernel.spi.subsystem.Subsystem;
+
+/**
+ * Provides service assembly and injection using factories generated at build time. Factories are generated by an annotation processor contained in this module.
+ */
+module io.rhizomatic.inject.gen {
+
+    exports io.rhizomatic.inject.gen.api;
+
+    requires io.rhizomatic.api;
+    requires io.rhizomatic.kernel;
+    requires static java.compiler;
+    requires static org.jetbrains.annotations;
+
+    provides Subsystem with GeneratedInjectionSubsystem;
+}
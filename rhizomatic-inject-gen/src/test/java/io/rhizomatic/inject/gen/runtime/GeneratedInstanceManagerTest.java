@@ -0,0 +1,209 @@
+package io.rhizomatic.inject.gen.runtime;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Init;
+import io.rhizomatic.api.annotations.Multiplicity;
+import io.rhizomatic.api.annotations.Service;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ *
+ */
+public class GeneratedInstanceManagerTest {
+
+    @Test
+    public void verifyResolutionsAreCached() {
+        var manager = new GeneratedInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestListener2.class).build());
+
+        var greeter = manager.resolve(Greeter.class);
+        Assertions.assertNotNull(greeter);
+        Assertions.assertSame(greeter, manager.resolve(Greeter.class));
+
+        var listeners = manager.resolveAll(Listener.class);
+        Assertions.assertEquals(2, listeners.size());
+        Assertions.assertSame(listeners, manager.resolveAll(Listener.class));
+    }
+
+    @Test
+    public void verifyInjection() {
+        var manager = new GeneratedInstanceManager();
+        var context = new Object();
+        manager.register(Object.class, context);
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestListener2.class).service(TestConsumer.class).build());
+
+        var consumer = manager.resolve(TestConsumer.class);
+        Assertions.assertNotNull(consumer);
+        Assertions.assertSame(manager.resolve(Greeter.class), consumer.greeter);
+        Assertions.assertSame(context, consumer.context);
+        Assertions.assertEquals(2, consumer.listeners.size());
+        Assertions.assertSame(consumer.greeter, consumer.greeterProvider.get());
+        Assertions.assertTrue(consumer.initialized);
+    }
+
+    @Test
+    public void verifyRewireInvalidatesCache() {
+        var manager = new GeneratedInstanceManager();
+        var index = ScanIndex.Builder.newInstance().service(TestGreeter.class).build();
+        manager.wire(index);
+        var greeter = manager.resolve(Greeter.class);
+
+        manager.wire(index);
+        Assertions.assertNotSame(greeter, manager.resolve(Greeter.class));
+    }
+
+    @Test
+    public void verifyExtendRetainsExistingInstances() {
+        var manager = new GeneratedInstanceManager();
+        manager.register(Object.class, new Object());
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).build());
+        var greeter = manager.resolve(Greeter.class);
+
+        manager.extend(ScanIndex.Builder.newInstance().service(TestConsumer.class).build());
+
+        Assertions.assertSame(greeter, manager.resolve(Greeter.class));
+        var consumer = manager.resolve(TestConsumer.class);
+        Assertions.assertSame(greeter, consumer.greeter);
+        Assertions.assertEquals(1, consumer.listeners.size());
+    }
+
+    @Test
+    public void verifyExtendMultiplicityRewires() {
+        var manager = new GeneratedInstanceManager();
+        manager.register(Object.class, new Object());
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestConsumer.class).build());
+        var consumer = manager.resolve(TestConsumer.class);
+        Assertions.assertEquals(1, consumer.listeners.size());
+
+        manager.extend(ScanIndex.Builder.newInstance().service(TestListener2.class).build());
+
+        // instances injected with the previous set are discarded
+        var rewired = manager.resolve(TestConsumer.class);
+        Assertions.assertNotSame(consumer, rewired);
+        Assertions.assertEquals(2, rewired.listeners.size());
+        Assertions.assertSame(manager.resolveAll(Listener.class), rewired.listeners);
+    }
+
+    @Test
+    public void verifyQualifiedTypesAreSnapshot() {
+        var manager = new GeneratedInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).qualified(TestGreeter.class, Qualifier.class).build());
+
+        var qualified = manager.resolveQualifiedTypes(Qualifier.class);
+        Assertions.assertEquals(1, qualified.size());
+        Assertions.assertSame(qualified, manager.resolveQualifiedTypes(Qualifier.class));
+        Assertions.assertTrue(manager.resolveQualifiedTypes(Greeter.class).isEmpty());
+    }
+
+    @Test
+    public void verifyResolveAllUnbound() {
+        var manager = new GeneratedInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).build());
+        Assertions.assertTrue(manager.resolveAll(Listener.class).isEmpty());
+        Assertions.assertThrows(RhizomaticException.class, () -> manager.resolveAll(Qualifier.class));
+    }
+
+    @Test
+    public void verifyMultiplicityCannotBeResolvedAsSingleInstance() {
+        var manager = new GeneratedInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestListener1.class).build());
+        Assertions.assertThrows(RhizomaticException.class, () -> manager.resolve(Listener.class));
+    }
+
+    @Test
+    public void verifyCreationWaitsForInitInProgress() throws Exception {
+        var manager = new GeneratedInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestBlockingService.class).build());
+        var greeter = manager.resolve(Greeter.class);
+
+        TestBlockingService.STARTED = new CountDownLatch(1);
+        TestBlockingService.RELEASE = new CountDownLatch(1);
+        var blocking = CompletableFuture.supplyAsync(() -> manager.resolve(TestBlockingService.class));
+        try {
+            Assertions.assertTrue(TestBlockingService.STARTED.await(10, TimeUnit.SECONDS));
+
+            // created singletons do not take the lock
+            Assertions.assertSame(greeter, CompletableFuture.supplyAsync(() -> manager.resolve(Greeter.class)).get(10, TimeUnit.SECONDS));
+
+            // creating another singleton waits for the init callback to complete
+            var listeners = CompletableFuture.supplyAsync(() -> manager.resolveAll(Listener.class));
+            Assertions.assertThrows(TimeoutException.class, () -> listeners.get(100, TimeUnit.MILLISECONDS));
+
+            TestBlockingService.RELEASE.countDown();
+            Assertions.assertNotNull(blocking.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, listeners.get(10, TimeUnit.SECONDS).size());
+        } finally {
+            TestBlockingService.RELEASE.countDown();
+        }
+    }
+
+    public @interface Qualifier {
+    }
+
+    public interface Greeter {
+    }
+
+    @Multiplicity
+    public interface Listener {
+    }
+
+    @Service(values = Greeter.class)
+    public static class TestGreeter implements Greeter {
+    }
+
+    @Service(values = Listener.class)
+    public static class TestListener1 implements Listener {
+    }
+
+    @Service(values = Listener.class)
+    public static class TestListener2 implements Listener {
+    }
+
+    @Service(values = TestConsumer.class)
+    public static class TestConsumer {
+        final Object context;
+
+        @Inject
+        Greeter greeter;
+
+        @Inject
+        Set<Listener> listeners;
+
+        @Inject
+        Provider<Greeter> greeterProvider;
+
+        boolean initialized;
+
+        @Inject
+        public TestConsumer(Object context) {
+            this.context = context;
+        }
+
+        @Init
+        public void init() {
+            initialized = greeter != null;
+        }
+    }
+
+    @Service(values = TestBlockingService.class)
+    public static class TestBlockingService {
+        static CountDownLatch STARTED;
+        static CountDownLatch RELEASE;
+
+        @Init
+        public void init() throws InterruptedException {
+            STARTED.countDown();
+            RELEASE.await();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.rhizomatic.tests;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.ServiceContext;
+import io.rhizomatic.api.executor.ExecutorMetrics;
+import io.rhizomatic.api.executor.ExecutorProvider;
+import io.rhizomatic.inject.gen.runtime.GeneratedInstanceManager;
+import io.rhizomatic.inject.guice.GuiceInstanceManager;
+import io.rhizomatic.kernel.executor.RzExecutorProvider;
+import io.rhizomatic.kernel.schedule.RzScheduler;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+import io.rhizomatic.kernel.spi.scan.Introspector;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs the injection tests against each instance manager.
+ */
+public class InjectionTest {
+    private TestServiceContext context = new TestServiceContext();
+    private TestExecutorProvider executorProvider = new TestExecutorProvider();
+
+    @AfterEach
+    public void tearDown() {
+        executorProvider.executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @MethodSource("modes")
+    public void verifyEagerServiceInitialized(Mode mode) {
+        var manager = wire(mode);
+        Assertions.assertTrue(context.bootCallbacks.isEmpty());
+
+        manager.startInstances();
+
+        Assertions.assertEquals(1, context.bootCallbacks.size());
+        Assertions.assertEquals(List.of("test-channel"), executorProvider.requested);
+    }
+
+    @ParameterizedTest
+    @MethodSource("modes")
+    public void verifyMultiplicityInjection(Mode mode) throws Exception {
+        var manager = wire(mode);
+        manager.startInstances();
+
+        var channel = (TestChannel) manager.resolve(TestProducer.class);
+        Assertions.assertNotNull(channel);
+        Assertions.assertEquals(2, channel.subscribers.size());
+        Assertions.assertEquals(TestSubscriber1.class, channel.subscribers.get(0).getClass());  // ordered by @Service(order)
+        Assertions.assertEquals(List.copyOf(manager.resolveAll(TestSubscriber.class)), channel.subscribers);
+
+        channel.send("test");
+        executorProvider.executor.shutdown();
+        Assertions.assertTrue(executorProvider.executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(List.of("test"), ((TestSubscriber1) channel.subscribers.get(0)).messages);
+        Assertions.assertEquals(List.of("test"), ((TestSubscriber2) channel.subscribers.get(1)).messages);
+    }
+
+    @ParameterizedTest
+    @MethodSource("modes")
+    public void verifyScheduledMethodsInvokeService(Mode mode) throws Exception {
+        TestScheduledTicker.INSTANCES.set(0);
+        var builder = ScanIndex.Builder.newInstance();
+        mode.introspector.introspect(TestScheduledTicker.class, builder);
+        var scanIndex = builder.build();
+        var manager = mode.manager.get();
+        manager.wire(scanIndex);
+        manager.startInstances();
+        var ticker = (TestScheduledTicker) manager.resolve(TestTicker.class);
+
+        var reports = new CountDownLatch(1);
+        var monitor = new Monitor() {
+            public void info(Supplier<String> supplier, Throwable... errors) {
+                if (supplier.get().contains("slow") && supplier.get().contains("overrun")) {
+                    reports.countDown();
+                }
+            }
+        };
+        var schedulerExecutors = new RzExecutorProvider(Map.<String, Object>of("executor.scheduler.threads", 2)::get, monitor);
+        var scheduler = new RzScheduler(schedulerExecutors, 1, 50, monitor);
+        try {
+            scheduler.start(scanIndex.getScheduledMethods(), manager);
+
+            // scheduled methods are invoked on the instance bound to the service contract
+            Assertions.assertTrue(ticker.rateLatch.await(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(ticker.delayLatch.await(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(reports.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, ticker.maxConcurrentSlow.get());  // executions do not overlap
+            Assertions.assertEquals(1, TestScheduledTicker.INSTANCES.get());
+            Assertions.assertEquals(1, ticker.getInitializations());
+        } finally {
+            scheduler.stop();
+            schedulerExecutors.shutdown(10_000);
+        }
+    }
+
+    private InstanceManager wire(Mode mode) {
+        var manager = mode.manager.get();
+        manager.register(ServiceContext.class, context);
+        manager.register(Monitor.class, new Monitor() {
+        });
+        manager.register(ExecutorProvider.class, executorProvider);
+
+        var builder = ScanIndex.Builder.newInstance();
+        for (var type : List.of(TestChannel.class, TestSubscriber1.class, TestSubscriber2.class)) {
+            mode.introspector.introspect(type, builder);
+        }
+        manager.wire(builder.build());
+        return manager;
+    }
+
+    static Stream<Mode> modes() {
+        return Stream.of(new Mode("guice", GuiceInstanceManager::new, new io.rhizomatic.inject.scan.InjectionIntrospector()),
+                         new Mode("generated", GeneratedInstanceManager::new, new io.rhizomatic.inject.gen.scan.InjectionIntrospector()));
+    }
+
+    /**
+     * An instance manager and the introspector that indexes services for it.
+     */
+    static class Mode {
+        final String name;
+        final Supplier<InstanceManager> manager;
+        final Introspector introspector;
+
+        Mode(String name, Supplier<InstanceManager> manager, Introspector introspector) {
+            this.name = name;
+            this.manager = manager;
+            this.introspector = introspector;
+        }
+
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static class TestServiceContext implements ServiceContext {
+        final List<Runnable> bootCallbacks = new ArrayList<>();
+
+        public String getRuntimeName() {
+            return "test";
+        }
+
+        public String getEnvironment() {
+            return "test";
+        }
+
+        public void addBootCallback(Runnable runnable) {
+            bootCallbacks.add(runnable);
+        }
+
+        public void addShutdownCallback(Runnable runnable) {
+        }
+
+        public ExecutorProvider getExecutorProvider() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class TestExecutorProvider implements ExecutorProvider {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final List<String> requested = new ArrayList<>();
+
+        public ExecutorService getExecutor(String name) {
+            requested.add(name);
+            return executor;
+        }
+
+        public ExecutorService getThreadPerTaskExecutor(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        public ScheduledExecutorService getScheduledExecutor(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        public List<ExecutorMetrics> getMetrics() {
+            return List.of();
+        }
+    }
+}
@@ -3,11 +3,12 @@ package io.rhizomatic.tests;
 import com.google.inject.Inject;
 import io.rhizomatic.api.Monitor;
 import io.rhizomatic.api.ServiceContext;
+import io.rhizomatic.api.Services;
 import io.rhizomatic.api.annotations.Eager;
 import io.rhizomatic.api.annotations.Init;
 import io.rhizomatic.api.annotations.Service;
+import io.rhizomatic.api.executor.ExecutorProvider;
 
-import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 /**
@@ -19,7 +20,7 @@ public class TestChannel implements TestProducer {
     private ExecutorService executor;
 
     @Inject
-    protected Set<TestSubscriber> subscribers;
+    protected Services<TestSubscriber> subscribers;
 
     @Inject
     ServiceContext context;
@@ -27,8 +28,12 @@ public class TestChannel implements TestProducer {
     @Inject
     Monitor monitor;
 
+    @Inject
+    ExecutorProvider executorProvider;
+
     @Init
     public void init() {
+        executor = executorProvider.getExecutor("test-channel");
         context.addBootCallback(() -> {
             System.out.println("Service booted");
         });
@@ -39,7 +44,8 @@ public class TestChannel implements TestProducer {
     }
 
     public void send(String message) {
-        for (var subscriber : subscribers) {
+        for (var i = 0; i < subscribers.size(); i++) {
+            var subscriber = subscribers.get(i);
             monitor.debug(() -> "Sending message: " + message);
             executor.submit(() -> subscriber.message(message));
         }
@@ -0,0 +1,52 @@
+package io.rhizomatic.tests;
+
+import io.rhizomatic.api.annotations.Init;
+import io.rhizomatic.api.annotations.Scheduled;
+import io.rhizomatic.api.annotations.Service;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ */
+@Service(values = TestTicker.class)
+public class TestScheduledTicker implements TestTicker {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    final AtomicInteger initializations = new AtomicInteger();
+    final CountDownLatch rateLatch = new CountDownLatch(5);
+    final CountDownLatch delayLatch = new CountDownLatch(5);
+    final AtomicInteger concurrentSlow = new AtomicInteger();
+    final AtomicInteger maxConcurrentSlow = new AtomicInteger();
+
+    public TestScheduledTicker() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Init
+    public void init() {
+        initializations.incrementAndGet();
+    }
+
+    public int getInitializations() {
+        return initializations.get();
+    }
+
+    @Scheduled(fixedRate = 5)
+    public void rate() {
+        rateLatch.countDown();
+    }
+
+    @Scheduled(fixedDelay = 5, initialDelay = 10)
+    public void delay() {
+        delayLatch.countDown();
+    }
+
+    @Scheduled(fixedRate = 2)
+    public void slow() throws InterruptedException {
+        maxConcurrentSlow.accumulateAndGet(concurrentSlow.incrementAndGet(), Math::max);
+        Thread.sleep(10);
+        concurrentSlow.decrementAndGet();
+    }
+}
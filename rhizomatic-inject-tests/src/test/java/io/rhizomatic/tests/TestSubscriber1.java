@@ -0,0 +1,18 @@
+package io.rhizomatic.tests;
+
+import io.rhizomatic.api.annotations.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ *
+ */
+@Service(values = TestSubscriber.class, order = 1)
+public class TestSubscriber1 implements TestSubscriber {
+    final List<String> messages = new CopyOnWriteArrayList<>();
+
+    public void message(String message) {
+        messages.add(message);
+    }
+}
@@ -0,0 +1,10 @@
+package io.rhizomatic.tests;
+
+/**
+ *
+ */
+public interface TestTicker {
+
+    int getInitializations();
+
+}
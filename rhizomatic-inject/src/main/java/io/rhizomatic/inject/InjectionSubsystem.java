@@ -1,20 +1,37 @@
 package io.rhizomatic.inject;
 
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.executor.ExecutorProvider;
 import io.rhizomatic.inject.guice.GuiceInstanceManager;
 import io.rhizomatic.inject.scan.InjectionIntrospector;
+import io.rhizomatic.kernel.spi.SystemConfiguration;
 import io.rhizomatic.kernel.spi.inject.InstanceManager;
 import io.rhizomatic.kernel.spi.scan.Introspector;
 import io.rhizomatic.kernel.spi.subsystem.Subsystem;
 import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
 
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.INJECTION_MODE;
+import static io.rhizomatic.kernel.spi.util.ConfigurationHelper.getLong;
 
 /**
  * Loads the Injection subsystem. Provides service injection and wiring using Guice.
  */
 public class InjectionSubsystem extends Subsystem {
+    public static final String MODE = "guice";
+
+    @SystemConfiguration
+    private static final String LAYERED = "injection.layered";
+    @SystemConfiguration
+    private static final String TIMER_REPORT_INTERVAL = "injection.timer.report.interval";
+
     private static final Set<String> OPENS = Set.of("com.google.guice", "io.rhizomatic.inject");
-    private GuiceInstanceManager instanceManager;
+    private volatile GuiceInstanceManager instanceManager;
+    private Monitor monitor;
+    private ScheduledFuture<?> timerReport;
 
     public InjectionSubsystem() {
         super("rhizomatic.injection");
@@ -29,19 +46,55 @@ public class InjectionSubsystem extends Subsystem {
     }
 
     public void instantiate(SubsystemContext context) {
+        var mode = context.getConfiguration(String.class, INJECTION_MODE);
+        if (mode != null && !MODE.equals(mode)) {
+            return;
+        }
         var introspector = new InjectionIntrospector();
         context.registerService(Introspector.class, introspector);
 
-        instanceManager = new GuiceInstanceManager();
+        var layered = context.getConfiguration(Boolean.class, LAYERED);
+        instanceManager = new GuiceInstanceManager(Boolean.TRUE.equals(layered));
         context.registerService(InstanceManager.class, instanceManager);
+        monitor = context.getMonitor();
     }
 
     public void applicationInitialize(SubsystemContext context) {
-        instanceManager.startInstances();
+        if (instanceManager != null) {
+            instanceManager.startInstances();
+            var interval = getLong(context, TIMER_REPORT_INTERVAL, 0);
+            if (interval > 0) {
+                var executor = context.resolve(ExecutorProvider.class).getScheduledExecutor("rhizomatic.injection");
+                timerReport = executor.scheduleAtFixedRate(this::reportTimers, interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
     public void shutdown() {
+        if (instanceManager != null) {
+            if (timerReport != null) {
+                timerReport.cancel(false);
+                timerReport = null;
+            }
+            reportTimers();
+            instanceManager.close();
+        }
         instanceManager = null;
     }
 
+    /**
+     * Reports timings of methods that have been invoked.
+     */
+    private void reportTimers() {
+        var manager = instanceManager;
+        if (manager == null) {
+            return;
+        }
+        for (var snapshot : manager.getTimerRegistry().getSnapshots()) {
+            if (snapshot.getCount() > 0) {
+                monitor.info(snapshot::toString);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,50 @@
+package io.rhizomatic.inject.cache;
+
+import java.util.Arrays;
+
+/**
+ * Creates cache keys from method arguments. A single argument is used as the key directly so that lookups for the most common case do not allocate.
+ */
+public class CacheKeys {
+    private static final Object EMPTY = new Object();
+    private static final Object NULL = new Object();
+
+    /**
+     * Returns the key for the arguments.
+     *
+     * @param arguments the arguments
+     */
+    public static Object of(Object[] arguments) {
+        if (arguments.length == 0) {
+            return EMPTY;
+        } else if (arguments.length == 1) {
+            var argument = arguments[0];
+            if (argument == null) {
+                return NULL;
+            }
+            return argument.getClass().isArray() ? new ArgumentsKey(arguments.clone()) : argument;
+        }
+        return new ArgumentsKey(arguments.clone());
+    }
+
+    private static class ArgumentsKey {
+        private final Object[] arguments;
+        private final int hash;
+
+        ArgumentsKey(Object[] arguments) {
+            this.arguments = arguments;
+            this.hash = Arrays.deepHashCode(arguments);
+        }
+
+        public boolean equals(Object other) {
+            return other instanceof ArgumentsKey && Arrays.deepEquals(arguments, ((ArgumentsKey) other).arguments);
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private CacheKeys() {
+    }
+}
@@ -0,0 +1,99 @@
+package io.rhizomatic.inject.cache;
+
+/**
+ * A count-min sketch that estimates how often keys were accessed, used by the cache admission policy. Each long holds sixteen 4-bit counters; a key maps to four
+ * counters and its frequency is the minimum of them. Counters are halved periodically so the sketch favors recent accesses.
+ * <p>
+ * This class is not thread-safe and must be guarded by the cache eviction lock.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param maximumSize the maximum size of the cache, used to size the sketch
+     */
+    FrequencySketch(long maximumSize) {
+        var maximum = (int) Math.max(1, Math.min(maximumSize, 1 << 30));
+        table = new long[ceilingPowerOfTwo(maximum)];
+        tableMask = table.length - 1;
+        sampleSize = maximum > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : 10 * maximum;
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key, up to 15.
+     */
+    int frequency(Object key) {
+        var hash = spread(key.hashCode());
+        var start = (hash & 3) << 2;
+        var frequency = MAX_FREQUENCY;
+        for (var i = 0; i < 4; i++) {
+            var index = indexOf(hash, i);
+            var count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the key.
+     */
+    void increment(Object key) {
+        var hash = spread(key.hashCode());
+        var start = (hash & 3) << 2;
+        var added = false;
+        for (var i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        var offset = counter << 2;
+        var mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all counters.
+     */
+    private void reset() {
+        var odd = 0;
+        for (var i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int depth) {
+        var value = (hash + SEEDS[depth]) * SEEDS[depth];
+        value += value >>> 32;
+        return ((int) value) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,68 @@
+package io.rhizomatic.inject.cache;
+
+import io.rhizomatic.api.cache.CacheManager;
+import io.rhizomatic.api.cache.CacheStatistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Default cache manager. Caches are registered by name; a cache is replaced when the class that created it is reloaded so values computed by the previous version of
+ * the class are discarded.
+ */
+public class RzCacheManager implements CacheManager {
+    private ConcurrentHashMap<String, CacheEntry> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the named cache, creating it if it does not exist or was created by a previous version of the owner class.
+     *
+     * @param name the cache name
+     * @param owner the class using the cache
+     * @param maximumSize the maximum number of entries
+     * @param ttl the time entries remain valid, or zero if entries do not expire
+     * @param unit the ttl unit
+     */
+    public TinyLfuCache<Object, Object> getCache(String name, Class<?> owner, long maximumSize, long ttl, TimeUnit unit) {
+        return caches.compute(name, (k, entry) -> {
+            if (entry != null && (entry.owner == owner || !entry.owner.getName().equals(owner.getName()))) {
+                return entry;
+            }
+            return new CacheEntry(owner, new TinyLfuCache<>(name, maximumSize, ttl, unit));
+        }).cache;
+    }
+
+    public void invalidate(String cache, Object... arguments) {
+        var entry = caches.get(cache);
+        if (entry != null) {
+            entry.cache.invalidate(CacheKeys.of(arguments));
+        }
+    }
+
+    public void invalidateAll(String cache) {
+        var entry = caches.get(cache);
+        if (entry != null) {
+            entry.cache.invalidateAll();
+        }
+    }
+
+    public List<CacheStatistics> getStatistics() {
+        var statistics = new ArrayList<CacheStatistics>();
+        caches.values().forEach(entry -> statistics.add(entry.cache.getStatistics()));
+        statistics.sort(comparing(CacheStatistics::getName));
+        return statistics;
+    }
+
+    private static class CacheEntry {
+        final Class<?> owner;
+        final TinyLfuCache<Object, Object> cache;
+
+        CacheEntry(Class<?> owner, TinyLfuCache<Object, Object> cache) {
+            this.owner = owner;
+            this.cache = cache;
+        }
+    }
+}
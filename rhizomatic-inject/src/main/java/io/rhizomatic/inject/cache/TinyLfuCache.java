@@ -0,0 +1,450 @@
+package io.rhizomatic.inject.cache;
+
+import io.rhizomatic.api.cache.CacheStatistics;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A concurrent cache bounded by entry count that uses W-TinyLFU admission and eviction.
+ * <p>
+ * New entries enter a small LRU admission window. Entries leaving the window compete with the least recently used entry of the main region, and the entry that was
+ * accessed more often according to a {@link FrequencySketch} is retained. The main region is a segmented LRU: entries accessed while on probation are promoted to the
+ * protected segment. This retains frequently used entries when a burst of one-time lookups passes through the cache.
+ * <p>
+ * Reads are lock-free: accesses are recorded in lossy striped buffers that are replayed against the policy when full or when an entry is written. Writes and policy
+ * maintenance are serialized by a lock.
+ */
+public class TinyLfuCache<K, V> {
+    private static final int NONE = 0;
+    private static final int WINDOW = 1;
+    private static final int PROBATION = 2;
+    private static final int PROTECTED = 3;
+
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final String name;
+    private final long maximumSize;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReadStripe[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // guarded by evictionLock
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+    private final ArrayDeque<Node<K, V>> writeOrder = new ArrayDeque<>();
+    private long windowSize;
+    private long protectedSize;
+    private long size;
+
+    /**
+     * Constructor.
+     *
+     * @param name the cache name
+     * @param maximumSize the maximum number of entries
+     * @param ttl the time entries remain valid after they are written, or zero if entries do not expire
+     * @param unit the ttl unit
+     */
+    public TinyLfuCache(String name, long maximumSize, long ttl, TimeUnit unit) {
+        this(name, maximumSize, unit.toNanos(ttl), System::nanoTime);
+    }
+
+    TinyLfuCache(String name, long maximumSize, long ttlNanos, LongSupplier ticker) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + name);
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 8 / 10;
+        this.ttlNanos = Math.max(0, ttlNanos);
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(maximumSize);
+        var stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+        stripes = new ReadStripe[stripeCount];
+        for (var i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReadStripe();
+        }
+    }
+
+    /**
+     * Returns the cache name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the value cached for the key or null if there is no value or it has expired.
+     *
+     * @param key the key
+     */
+    public @Nullable V get(K key) {
+        var node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(node, ticker.getAsLong())) {
+            misses.increment();
+            if (data.remove(key, node)) {
+                evictions.increment();
+                evictionLock.lock();
+                try {
+                    unlink(node);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+            return null;
+        }
+        hits.increment();
+        recordRead(node);
+        return node.value;
+    }
+
+    /**
+     * Caches a value, replacing an existing value for the key. The cache may evict an entry, possibly the one being added, to remain within its maximum size.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        var node = new Node<>(requireNonNull(key), requireNonNull(value), ttlNanos > 0 ? ticker.getAsLong() : 0);
+        var previous = data.put(key, node);
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            if (previous != null) {
+                unlink(previous);
+            }
+            if (data.get(key) == node) {  // otherwise replaced or invalidated concurrently
+                link(node);
+            }
+            sketch.increment(key);
+            expire();
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the value cached for the key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        var node = data.remove(key);
+        if (node == null) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            unlink(node);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            drainReadBuffers();
+            data.clear();
+            for (var queue : new AccessQueue<?, ?>[]{window, probation, protectedQueue}) {
+                for (var node = queue.first; node != null; node = node.next) {
+                    node.queue = NONE;
+                }
+                queue.clear();
+            }
+            writeOrder.clear();
+            windowSize = 0;
+            protectedSize = 0;
+            size = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the approximate number of cached entries.
+     */
+    public long size() {
+        return data.size();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(name, data.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Records a read in the buffer of the current thread's stripe. Reads are dropped if the buffer is full and the policy is being maintained by another thread.
+     */
+    private void recordRead(Node<K, V> node) {
+        var stripe = stripes[spread(Long.hashCode(Thread.currentThread().getId())) & (stripes.length - 1)];
+        var writes = stripe.writes.get();
+        var pending = writes - stripe.reads;
+        if (pending < BUFFER_SIZE && stripe.writes.compareAndSet(writes, writes + 1)) {
+            stripe.slots.lazySet((int) (writes & BUFFER_MASK), node);
+            pending++;
+        }
+        if (pending >= BUFFER_SIZE && evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+                expire();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainReadBuffers() {
+        for (var stripe : stripes) {
+            var reads = stripe.reads;
+            var writes = stripe.writes.get();
+            for (; reads < writes; reads++) {
+                var index = (int) (reads & BUFFER_MASK);
+                var node = (Node<K, V>) stripe.slots.get(index);
+                if (node == null) {
+                    break;  // the write has not been published yet
+                }
+                stripe.slots.lazySet(index, null);
+                onAccess(node);
+            }
+            stripe.reads = reads;
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                sketch.increment(node.key);
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                sketch.increment(node.key);
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedQueue.addLast(node);
+                protectedSize++;
+                while (protectedSize > protectedMaximum) {
+                    var demoted = protectedQueue.pollFirst();
+                    protectedSize--;
+                    demoted.queue = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            case PROTECTED:
+                sketch.increment(node.key);
+                protectedQueue.moveToBack(node);
+                break;
+            default:
+                break;  // removed
+        }
+    }
+
+    private void link(Node<K, V> node) {
+        node.queue = WINDOW;
+        window.addLast(node);
+        windowSize++;
+        size++;
+        if (ttlNanos > 0) {
+            writeOrder.addLast(node);
+            if (writeOrder.size() > 2 * maximumSize) {
+                writeOrder.removeIf(n -> n.queue == NONE);  // discard removed entries, amortized over the writes that caused them
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowSize--;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                protectedSize--;
+                break;
+            default:
+                return;
+        }
+        node.queue = NONE;
+        size--;
+    }
+
+    /**
+     * Removes expired entries. Entries share the same TTL, so they expire in write order.
+     */
+    private void expire() {
+        if (ttlNanos == 0) {
+            return;
+        }
+        var now = ticker.getAsLong();
+        while (!writeOrder.isEmpty() && (writeOrder.peekFirst().queue == NONE || isExpired(writeOrder.peekFirst(), now))) {
+            var node = writeOrder.pollFirst();
+            if (node.queue != NONE) {
+                evict(node);
+            }
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window to probation, then evicts entries until the cache is within its maximum size. Entries moved from the window are admitted
+     * only if they are estimated to be used more frequently than the probation entry they would replace.
+     */
+    private void evict() {
+        Node<K, V> candidate = null;
+        while (windowSize > windowMaximum) {
+            var node = window.pollFirst();
+            windowSize--;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            if (candidate == null) {
+                candidate = node;
+            }
+        }
+        while (size > maximumSize) {
+            var victim = probation.first;
+            if (candidate == null || victim == null) {
+                victim = victim != null ? victim : protectedQueue.first != null ? protectedQueue.first : window.first;
+                evict(victim);
+            } else if (victim == candidate) {
+                candidate = candidate.next;
+                evict(victim);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evict(victim);
+            } else {
+                var next = candidate.next;
+                evict(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        if (data.remove(node.key, node)) {
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return ttlNanos > 0 && now - node.writeTime >= ttlNanos;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        final V value;
+        final long writeTime;
+
+        // guarded by the eviction lock
+        int queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * A doubly-linked list of nodes ordered from least to most recently used.
+     */
+    private static class AccessQueue<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.previous = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        Node<K, V> pollFirst() {
+            var node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            first = null;
+            last = null;
+        }
+    }
+
+    private static class ReadStripe {
+        final AtomicLong writes = new AtomicLong();
+        final AtomicReferenceArray<Node<?, ?>> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+        volatile long reads;
+    }
+}
@@ -0,0 +1,59 @@
+package io.rhizomatic.inject.guice;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Cached;
+import io.rhizomatic.inject.cache.CacheKeys;
+import io.rhizomatic.inject.cache.RzCacheManager;
+import io.rhizomatic.inject.cache.TinyLfuCache;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Returns cached values for methods annotated with {@link Cached}, invoking the method on a cache miss. Concurrent misses for the same arguments may each invoke the
+ * method.
+ */
+public class CachingInterceptor implements MethodInterceptor {
+    private static final Object NULL = new Object();
+
+    private RzCacheManager cacheManager;
+
+    // caches are resolved once per method; entries are held by the declaring class so they are discarded when it is unloaded
+    private ClassValue<ConcurrentHashMap<Method, TinyLfuCache<Object, Object>>> methodCaches = new ClassValue<>() {
+        protected ConcurrentHashMap<Method, TinyLfuCache<Object, Object>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public CachingInterceptor(RzCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        var caches = methodCaches.get(method.getDeclaringClass());
+        var cache = caches.get(method);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(method, this::createCache);
+        }
+        var key = CacheKeys.of(invocation.getArguments());
+        var value = cache.get(key);
+        if (value != null) {
+            return value == NULL ? null : value;
+        }
+        var result = invocation.proceed();
+        cache.put(key, result == null ? NULL : result);
+        return result;
+    }
+
+    private TinyLfuCache<Object, Object> createCache(Method method) {
+        if (method.getReturnType() == void.class) {
+            throw new RhizomaticException("@Cached method must return a value: " + method.getDeclaringClass().getName() + "." + method.getName());
+        }
+        var cached = method.getAnnotation(Cached.class);
+        var name = cached.name().isEmpty() ? method.getDeclaringClass().getName() + "." + method.getName() : cached.name();
+        return cacheManager.getCache(name, method.getDeclaringClass(), cached.maximumSize(), cached.ttl(), cached.unit());
+    }
+}
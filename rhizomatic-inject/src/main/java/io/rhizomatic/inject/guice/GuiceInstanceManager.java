@@ -1,43 +1,99 @@
 package io.rhizomatic.inject.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Binder;
 import com.google.inject.ConfigurationException;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import com.google.inject.Key;
-import com.google.inject.Scopes;
-import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.AbstractMatcher;
 import com.google.inject.matcher.Matchers;
-import com.google.inject.multibindings.Multibinder;
-import com.google.inject.util.Types;
 import io.rhizomatic.api.RhizomaticException;
-import io.rhizomatic.api.annotations.Multiplicity;
+import io.rhizomatic.api.annotations.Cached;
+import io.rhizomatic.api.annotations.Serialized;
+import io.rhizomatic.api.annotations.Timed;
+import io.rhizomatic.api.cache.CacheManager;
+import io.rhizomatic.api.metrics.TimerRegistry;
+import io.rhizomatic.inject.cache.RzCacheManager;
+import io.rhizomatic.inject.metrics.RzTimerRegistry;
 import io.rhizomatic.kernel.spi.inject.InstanceManager;
 import io.rhizomatic.kernel.spi.scan.ScanIndex;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static io.rhizomatic.kernel.spi.util.Cast.cast;
 
 /**
  * Guice implementation of an instance manager.
+ * <p>
+ * By default, all services are bound in a single injector. If layered injection is enabled, an injector hierarchy mirroring the layer DAG is created instead, see
+ * {@link LayeredInjectors}.
+ * <p>
+ * Methods annotated with {@link Cached} are intercepted and their results cached in caches managed by a {@link CacheManager}. Methods annotated with {@link Timed} are
+ * intercepted and their invocations recorded in the {@link TimerRegistry}. Both are bound for injection. Invocations of services annotated with {@link Serialized}
+ * are executed in order on a thread dedicated to the service.
  */
 public class GuiceInstanceManager implements InstanceManager {
+    private static final AbstractMatcher<Method> CACHED_METHODS = new AbstractMatcher<>() {
+        public boolean matches(Method method) {
+            return method.isAnnotationPresent(Cached.class) && !method.isSynthetic();  // bridge methods carry the annotations of the methods they bridge
+        }
+    };
+    private static final AbstractMatcher<Method> TIMED_METHODS = new AbstractMatcher<>() {
+        public boolean matches(Method method) {
+            return TimingInterceptor.isTimed(method);
+        }
+    };
+
+    private static final AbstractMatcher<Method> SERIALIZED_METHODS = new AbstractMatcher<>() {
+        public boolean matches(Method method) {
+            return SerializingInterceptor.isSerialized(method);
+        }
+    };
+
     private Map<Class<?>, Object> instances = new HashMap<>();
     private Set<Class<?>> eagerServices = Collections.emptySet();
     private Map<Class<?>, Set<Class<?>>> qualifiedServices = Collections.emptyMap();
-    private Injector injector;
+    private ScanIndex scanIndex;  // all wired services, including extensions
+    private volatile Injector injector;   // contains all services or, if layered injection is enabled, system services; replaced on the reloader thread
+    private LayeredInjectors layeredInjectors;
+    private volatile ResolutionCache cache;
+    private RzCacheManager cacheManager = new RzCacheManager();
+    private RzTimerRegistry timerRegistry = new RzTimerRegistry();
+    private SerializingInterceptor serializingInterceptor = new SerializingInterceptor();
+
+    private boolean layered;
+    private Function<Class<?>, ModuleLayer> layerOf;
 
     private boolean wired = false;
+    private boolean started = false;
 
     public GuiceInstanceManager() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param layered true if an injector should be created per layer
+     */
+    public GuiceInstanceManager(boolean layered) {
+        this(layered, type -> type.getModule().getLayer());
+    }
+
+    GuiceInstanceManager(boolean layered, Function<Class<?>, ModuleLayer> layerOf) {
+        this.layered = layered;
+        this.layerOf = layerOf;
     }
 
     public void register(Class<?> type, Object instance) {
@@ -45,120 +101,222 @@ public class GuiceInstanceManager implements InstanceManager {
     }
 
     public void wire(ScanIndex scanIndex) {
+        var layeredWiring = layered && !scanIndex.getLayers().isEmpty();
         var injectModule = new AbstractModule() {
             @SuppressWarnings("unchecked")
             protected void configure() {
                 if (!scanIndex.getInitCallbacks().isEmpty()) {
                     bindListener(Matchers.any(), new LifecycleListener(scanIndex.getInitCallbacks()));
                 }
+                if (!scanIndex.getLazyInjections().isEmpty()) {
+                    bindListener(Matchers.any(), new LazyInjectionListener(scanIndex.getLazyInjections()));
+                }
 
                 for (var entry : instances.entrySet()) {
                     var key = entry.getKey();
                     bind(key).toInstance(cast(entry.getValue()));
                 }
+                if (!instances.containsKey(CacheManager.class)) {
+                    bind(CacheManager.class).toInstance(cacheManager);
+                }
+                if (!instances.containsKey(TimerRegistry.class)) {
+                    bind(TimerRegistry.class).toInstance(timerRegistry);
+                }
+                // bound in the root injector so they apply to services in child injectors; timing is outermost so it includes cache hits, and cache hits do not
+                // wait for serialized services
+                bindInterceptor(Matchers.any(), TIMED_METHODS, new TimingInterceptor(timerRegistry));
+                bindInterceptor(Matchers.any(), CACHED_METHODS, new CachingInterceptor(cacheManager));
+                bindInterceptor(Matchers.annotatedWith(Serialized.class), SERIALIZED_METHODS, serializingInterceptor);
 
-                // install provided modules
-                if (!scanIndex.getLayers().isEmpty()) {
-                    for (var loadedLayer : scanIndex.getLayers()) {
-                        var layer = loadedLayer.getModuleLayer();
-                        var guiceModules = ServiceLoader.load(layer, com.google.inject.Module.class);
-                        guiceModules.forEach(this::install);
-                    }
+                if (layeredWiring) {
+                    // services and modules defined in loaded layers are bound in layer injectors; modules from other layers, such as the boot layer, are installed here
+                    var loadedLayers = new HashSet<ModuleLayer>();
+                    scanIndex.getLayers().forEach(loadedLayer -> loadedLayers.add(loadedLayer.getModuleLayer()));
+                    installModules(binder(), scanIndex, layer -> !loadedLayers.contains(layer));
+                    return;
                 }
 
+                installModules(binder(), scanIndex, layer -> true);
+
                 // bind scanned services
-                for (var entry : scanIndex.getServiceBindings().entrySet()) {
-                    if (entry.getValue().isEmpty()) {
-                        //noinspection UnnecessaryContinue
-                        continue;
-                    } else if (entry.getValue().size() == 1 && !isMultiplicity(entry.getKey())) {
-                        @SuppressWarnings("rawtypes") Class implClass = entry.getValue().get(0);
-                        bind(entry.getKey()).to(implClass).in(Scopes.SINGLETON);
-                    } else {
-                        var key = entry.getKey();
-                        @SuppressWarnings("rawtypes") Multibinder builder;
-                        if (key.getTypeParameters().length > 0) {
-                            // bind generic params to wildcard types
-                            var paramTypes = new Type[key.getTypeParameters().length];
-                            for (var i = 0; i < key.getTypeParameters().length; i++) {
-                                paramTypes[i] = Types.subtypeOf(Object.class);
-                            }
-                            builder = Multibinder.newSetBinder(binder(), TypeLiteral.get(Types.newParameterizedType(key, paramTypes)));
-                        } else {
-                            builder = Multibinder.newSetBinder(binder(), key);
-                        }
-                        // order the multi-bindings are loaded in the module determines injection order
-                        for (var implClass : entry.getValue()) {
-                            builder.addBinding().to(implClass).in(Scopes.SINGLETON);
-                            bind(implClass).in(Scopes.SINGLETON);    // force singleton .cf https://github.com/google/guice/issues/791
-                        }
-                    }
-                }
-                eagerServices = scanIndex.getEagerServices();
-                qualifiedServices = scanIndex.getQualifiedServices();
+                ServiceBinder.bind(binder(), scanIndex.getServiceBindings(), null);
             }
         };
+        this.scanIndex = scanIndex;
+        eagerServices = scanIndex.getEagerServices();
+        qualifiedServices = scanIndex.getQualifiedServices();
         injector = Guice.createInjector(injectModule);
+        if (layeredWiring) {
+            layeredInjectors = new LayeredInjectors(injector, scanIndex, layerOf, ForkJoinPool.commonPool());
+            layeredInjectors.build();
+        } else {
+            layeredInjectors = null;
+        }
+        cache = new ResolutionCache(this::locate, qualifiedServices);  // discard resolutions against the previous injectors
         wired = true;
     }
 
+    /**
+     * Binds the services in the index in child injectors, retaining existing instances. A child injector cannot add to a multibinding of its parent, so if the index
+     * contributes to a multiplicity that is already bound, all services are wired again instead and existing instances are discarded.
+     *
+     * @param scanIndex the index containing the additional services
+     */
+    public void extend(ScanIndex scanIndex) {
+        if (!wired) {
+            wire(scanIndex);
+            return;
+        }
+        var merged = ScanIndex.Builder.newInstance().merge(this.scanIndex).merge(scanIndex).build();
+        if (contributesToMultiplicity(scanIndex)) {
+            wire(merged);
+            if (started) {
+                startInstances();
+            }
+            return;
+        }
+        this.scanIndex = merged;
+        if (layeredInjectors != null) {
+            layeredInjectors.extend(scanIndex);
+        } else {
+            var parent = injector;
+            var childModule = new AbstractModule() {
+                protected void configure() {
+                    if (!scanIndex.getInitCallbacks().isEmpty()) {
+                        bindListener(Matchers.any(), new LifecycleListener(scanIndex.getInitCallbacks()));
+                    }
+                    if (!scanIndex.getLazyInjections().isEmpty()) {
+                        bindListener(Matchers.any(), new LazyInjectionListener(scanIndex.getLazyInjections()));
+                    }
+                    ServiceBinder.bind(binder(), scanIndex.getServiceBindings(), parent);
+                }
+            };
+            // bind new services in a child injector so existing singletons are retained
+            injector = parent.createChildInjector(childModule);
+        }
+
+        eagerServices = merged.getEagerServices();
+        qualifiedServices = merged.getQualifiedServices();
+        cache = new ResolutionCache(this::locate, qualifiedServices);
+
+        if (started) {
+            for (var eagerService : scanIndex.getEagerServices()) {
+                locate(Key.get(eagerService)).getInstance(eagerService);
+            }
+        }
+    }
+
+    /**
+     * Recreates the injector for a layer and its descendant layers. Instances contained in other layers are retained. Layered injection must be enabled.
+     *
+     * @param layer the layer
+     */
+    public void rebuildLayer(ModuleLayer layer) {
+        checkWired();
+        if (layeredInjectors == null) {
+            throw new IllegalStateException("Layered injection is not enabled");
+        }
+        layeredInjectors.rebuild(layer);
+        cache = new ResolutionCache(this::locate, qualifiedServices);
+        if (started) {
+            for (var eagerService : eagerServices) {
+                if (layerOf.apply(eagerService) == layer) {
+                    locate(Key.get(eagerService)).getInstance(eagerService);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the registry containing timings of {@link Timed} methods.
+     */
+    public TimerRegistry getTimerRegistry() {
+        return timerRegistry;
+    }
+
+    /**
+     * Stops executing invocations of serialized services once the invocations already made complete.
+     */
+    public void close() {
+        serializingInterceptor.close();
+    }
+
     public void startInstances() {
         checkWired();
         for (var eagerService : eagerServices) {
-            injector.getInstance(eagerService); // TODO handle case where not bound to type
+            locate(Key.get(eagerService)).getInstance(eagerService); // TODO handle case where not bound to type
         }
+        started = true;
     }
 
     public <T> @Nullable T resolve(Class<T> type) {
         checkWired();
         try {
-            return injector.getInstance(type);
+            return cache.resolve(type);
         } catch (ConfigurationException e) {
             throw new RhizomaticException(e);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public <T> Set<T> resolveAll(Class<T> type) {
         checkWired();
-        var literal = (TypeLiteral<Set<T>>) TypeLiteral.get(Types.setOf(type));
         try {
-            return injector.getInstance(Key.get(literal));
+            return cache.resolveAll(type);
         } catch (ConfigurationException e) {
             throw new RhizomaticException(e);
         }
     }
 
     public Set<?> resolveQualifiedTypes(Class<?> qualifier) {
-        var implTypes = qualifiedServices.get(qualifier);
-        if (implTypes == null) {
-            return Collections.emptySet();
-        }
-        var instances = new LinkedHashSet<Object>();
-        for (var implType : implTypes) {
-            var resolved = resolve(implType);
-            if (resolved != null) {
-                instances.add(resolved);
-            }
+        checkWired();
+        try {
+            return cache.resolveQualifiedTypes(qualifier);
+        } catch (ConfigurationException e) {
+            throw new RhizomaticException(e);
         }
-        return instances;
     }
 
-    private void checkWired() {
-        if (!wired) {
-            throw new IllegalStateException(getClass().getName() + " not wired");
+    /**
+     * Installs the Guice modules provided by the index layers and their parents. The service loader returns providers in parent layers for each layer, so each provider
+     * type is installed once.
+     *
+     * @param binder the binder
+     * @param scanIndex the index
+     * @param filter selects the layers whose providers are installed
+     */
+    private static void installModules(Binder binder, ScanIndex scanIndex, Predicate<ModuleLayer> filter) {
+        var installed = new HashSet<Class<?>>();
+        for (var loadedLayer : scanIndex.getLayers()) {
+            ServiceLoader.load(loadedLayer.getModuleLayer(), com.google.inject.Module.class).stream()
+                    .filter(provider -> filter.test(provider.type().getModule().getLayer()) && installed.add(provider.type()))
+                    .forEach(provider -> binder.install(provider.get()));
         }
     }
 
-    private boolean isMultiplicity(Class<?> type) {
-        if (type.isAnnotationPresent(Multiplicity.class)) {
-            return true;
-        }
-        for (var interfaze : type.getInterfaces()) {
-            if (isMultiplicity(interfaze)) {
+    /**
+     * Returns true if the index binds a service to a multiplicity contract that is already bound.
+     */
+    private boolean contributesToMultiplicity(ScanIndex scanIndex) {
+        for (var contract : scanIndex.getServiceBindings().keySet()) {
+            var key = ServiceBinder.setKey(contract);
+            if (locate(key).getExistingBinding(key) != null) {
                 return true;
             }
         }
-        return type.getSuperclass() != null && isMultiplicity(type.getSuperclass());
+        return false;
+    }
+
+    /**
+     * Returns the injector containing the binding for the key.
+     */
+    private Injector locate(Key<?> key) {
+        return layeredInjectors != null ? layeredInjectors.locate(key) : injector;
     }
+
+    private void checkWired() {
+        if (!wired) {
+            throw new IllegalStateException(getClass().getName() + " not wired");
+        }
+    }
+
 }
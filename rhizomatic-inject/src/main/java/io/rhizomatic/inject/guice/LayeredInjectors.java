@@ -0,0 +1,324 @@
+package io.rhizomatic.inject.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.matcher.Matchers;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.Services;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Maintains an injector hierarchy that mirrors the layer DAG. A root injector contains system services; each layer has a child injector containing its services and the
+ * Guice modules it provides. Layer injectors are created concurrently once the injectors of their parent layers are available.
+ * <p>
+ * Since Guice injectors form a tree, a layer with multiple parents is a child of its first parent; services from the other parent layers are bridged into it. A contract
+ * may not be bound in a layer and one of its ancestors unless it is a multiplicity. Guice does not allow a child injector to add to a set bound by its parent, so the
+ * contributions to such a multiplicity are merged into a set bound in an injector between the root and the layer injectors. All layers resolve the merged set.
+ */
+public class LayeredInjectors {
+    private final Injector root;
+    private final Function<Class<?>, ModuleLayer> layerOf;
+    private final Executor executor;
+
+    private final Map<ModuleLayer, LayerEntry> entries = new LinkedHashMap<>();  // in topological order, parents first
+    private final Map<Class<?>, List<Class<?>>> merged = new LinkedHashMap<>();    // multiplicities bound in a layer and one of its ancestors
+    private final Injector base;  // parent of layer injectors without parent layers
+    private final List<LayerEntry> searchOrder;  // most derived layers first
+
+    public LayeredInjectors(Injector root, ScanIndex scanIndex, Function<Class<?>, ModuleLayer> layerOf, Executor executor) {
+        this.root = root;
+        this.layerOf = layerOf;
+        this.executor = executor;
+
+        var layers = new HashSet<ModuleLayer>();
+        scanIndex.getLayers().forEach(loadedLayer -> layers.add(loadedLayer.getModuleLayer()));
+        for (var layer : layers) {
+            addEntry(layer, layers);
+        }
+        for (var entry : partition(scanIndex.getServiceBindings()).entrySet()) {
+            mergeBindings(entry.getKey(), entry.getValue());
+        }
+        for (var entry : entries.values()) {
+            checkAncestorBindings(entry, scanIndex);
+        }
+        base = merged.isEmpty() ? root : root.createChildInjector(new MergedMultiplicityModule());
+
+        var order = new ArrayList<>(entries.values());
+        Collections.reverse(order);
+        searchOrder = List.copyOf(order);
+    }
+
+    /**
+     * Creates the injectors for all layers.
+     */
+    public void build() {
+        build(entries.values());
+    }
+
+    /**
+     * Recreates the injector for the layer and its descendants, which must be recreated since their parent injector changes. Injectors of other layers are retained.
+     *
+     * @param layer the layer
+     */
+    public void rebuild(ModuleLayer layer) {
+        var entry = entries.get(layer);
+        if (entry == null) {
+            throw new RhizomaticException("Layer not found: " + layer);
+        }
+        var targets = new HashSet<LayerEntry>();
+        targets.add(entry);
+        for (var candidate : entries.values()) {
+            if (candidate.ancestors().contains(entry)) {
+                targets.add(candidate);
+            }
+        }
+        build(targets);
+    }
+
+    /**
+     * Binds additional services in child injectors of their layer injectors. Existing instances are retained.
+     *
+     * @param scanIndex the index containing the additional services
+     */
+    public void extend(ScanIndex scanIndex) {
+        for (var partition : partition(scanIndex.getServiceBindings()).entrySet()) {
+            var entry = partition.getKey();
+            var parent = entry.extensions.isEmpty() ? entry.injector : entry.extensions.get(entry.extensions.size() - 1);
+            var module = new AbstractModule() {
+                protected void configure() {
+                    if (!scanIndex.getInitCallbacks().isEmpty()) {
+                        bindListener(Matchers.any(), new LifecycleListener(scanIndex.getInitCallbacks()));
+                    }
+                    if (!scanIndex.getLazyInjections().isEmpty()) {
+                        bindListener(Matchers.any(), new LazyInjectionListener(scanIndex.getLazyInjections()));
+                    }
+                    ServiceBinder.bind(binder(), partition.getValue(), parent);
+                }
+            };
+            entry.extensions.add(parent.createChildInjector(module));
+            mergeBindings(entry, partition.getValue());  // include the services when the layer is rebuilt
+        }
+    }
+
+    /**
+     * Returns the injector that contains the binding for the key. Layers are searched from the most derived, falling back to the layer containing the type for just-in-time
+     * bindings and then the root injector.
+     *
+     * @param key the key
+     */
+    public Injector locate(Key<?> key) {
+        for (var entry : searchOrder) {
+            for (var j = entry.extensions.size() - 1; j >= 0; j--) {
+                var extension = entry.extensions.get(j);
+                if (extension.getExistingBinding(key) != null) {
+                    return extension;
+                }
+            }
+            if (entry.injector.getExistingBinding(key) != null) {
+                return entry.injector;
+            }
+        }
+        var type = key.getTypeLiteral().getRawType();
+        var entry = entries.get(layerOf.apply(type));
+        return entry != null ? entry.injector : root;
+    }
+
+    private void build(Iterable<LayerEntry> targets) {
+        var futures = new HashMap<LayerEntry, CompletableFuture<Void>>();
+        for (var entry : targets) {
+            futures.put(entry, null);
+        }
+        for (var entry : entries.values()) {
+            if (!futures.containsKey(entry)) {
+                continue;
+            }
+            var dependencies = entry.parents.stream().map(futures::get).filter(Objects::nonNull).toArray(CompletableFuture<?>[]::new);
+            futures.put(entry, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                entry.injector = createInjector(entry);
+                entry.extensions.clear();
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RhizomaticException(e.getCause());
+        }
+    }
+
+    private Injector createInjector(LayerEntry entry) {
+        var parent = entry.parents.isEmpty() ? base : entry.parents.get(0).injector;
+        var module = new AbstractModule() {
+            protected void configure() {
+                // install modules provided by the layer; the service loader also returns providers in parent layers, which are installed in their own injectors
+                ServiceLoader.load(entry.layer, com.google.inject.Module.class).stream()
+                        .filter(provider -> provider.type().getModule().getLayer() == entry.layer)
+                        .forEach(provider -> install(provider.get()));
+
+                ServiceBinder.bind(binder(), entry.bindings, parent);
+
+                bridge(entry, parent);
+            }
+
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            private void bridge(LayerEntry entry, Injector parent) {
+                if (entry.parents.size() < 2) {
+                    return;
+                }
+                var visible = entry.parents.get(0).ancestors();
+                visible.add(entry.parents.get(0));
+                var bridged = new HashSet<Key<?>>();
+                for (var other : entry.parents.subList(1, entry.parents.size())) {
+                    var sources = other.ancestors();
+                    sources.add(other);
+                    for (var source : sources) {
+                        if (!visible.add(source)) {
+                            continue;
+                        }
+                        for (var binding : source.bindings.entrySet()) {
+                            var keys = new ArrayList<Key<?>>();
+                            var contractKey = ServiceBinder.contractKey(binding.getKey(), binding.getValue());
+                            keys.add(contractKey);
+                            if (!contractKey.getTypeLiteral().getRawType().equals(binding.getKey())) {
+                                keys.add(ServiceBinder.servicesKey(binding.getKey()));
+                            }
+                            binding.getValue().forEach(implClass -> keys.add(Key.get(implClass)));
+                            for (var key : keys) {
+                                if (bridged.add(key) && parent.getExistingBinding(key) == null) {
+                                    binder().bind((Key) key).toProvider(source.injector.getProvider(key));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        };
+        return parent.createChildInjector(module);
+    }
+
+    private void addEntry(ModuleLayer layer, Set<ModuleLayer> layers) {
+        if (entries.containsKey(layer)) {
+            return;
+        }
+        var parents = new ArrayList<LayerEntry>();
+        for (var parentLayer : layer.parents()) {
+            if (layers.contains(parentLayer)) {
+                addEntry(parentLayer, layers);
+                parents.add(entries.get(parentLayer));
+            }
+        }
+        var entry = new LayerEntry(layer);
+        entry.parents.addAll(parents);
+        entries.put(layer, entry);
+    }
+
+    /**
+     * Groups bindings by the layer containing the implementation type, preserving service order.
+     */
+    private Map<LayerEntry, Map<Class<?>, List<Class<?>>>> partition(Map<Class<?>, List<Class<?>>> bindings) {
+        var partitions = new LinkedHashMap<LayerEntry, Map<Class<?>, List<Class<?>>>>();
+        for (var binding : bindings.entrySet()) {
+            for (var implClass : binding.getValue()) {
+                var entry = entries.get(layerOf.apply(implClass));
+                if (entry == null) {
+                    throw new RhizomaticException("Service is not contained in a loaded layer: " + implClass.getName());
+                }
+                var partition = partitions.computeIfAbsent(entry, k -> new LinkedHashMap<>());
+                partition.computeIfAbsent(binding.getKey(), k -> new ArrayList<>()).add(implClass);
+            }
+        }
+        return partitions;
+    }
+
+    private void mergeBindings(LayerEntry entry, Map<Class<?>, List<Class<?>>> bindings) {
+        for (var binding : bindings.entrySet()) {
+            var implClasses = entry.bindings.computeIfAbsent(binding.getKey(), k -> new ArrayList<>());
+            for (var implClass : binding.getValue()) {
+                if (!implClasses.contains(implClass)) {
+                    implClasses.add(implClass);
+                }
+            }
+        }
+    }
+
+    private void checkAncestorBindings(LayerEntry entry, ScanIndex scanIndex) {
+        for (var ancestor : entry.ancestors()) {
+            for (var contract : entry.bindings.keySet()) {
+                if (!ancestor.bindings.containsKey(contract)) {
+                    continue;
+                }
+                if (ServiceBinder.isMultiplicity(contract)) {
+                    merged.put(contract, scanIndex.getServiceBindings().get(contract));  // in service order across layers
+                } else {
+                    throw new RhizomaticException("Contract " + contract.getName() + " is bound in layer " + ancestor.layer + " and its descendant " + entry.layer
+                                                  + ". Contracts must be bound in a single layer when layered injection is enabled.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds merged multiplicities. The sets are resolved from the layer injectors each time they are provided since layer injectors are created later and may be rebuilt;
+     * the services they contain are singletons.
+     */
+    private class MergedMultiplicityModule extends AbstractModule {
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected void configure() {
+            for (var entry : merged.entrySet()) {
+                var implClasses = entry.getValue();
+                Provider<Set<?>> setProvider = () -> {
+                    var set = new LinkedHashSet<>();
+                    for (var implClass : implClasses) {
+                        var key = Key.get(implClass);
+                        set.add(locate(key).getInstance(key));
+                    }
+                    return Collections.unmodifiableSet(set);
+                };
+                bind((Key) ServiceBinder.setKey(entry.getKey())).toProvider((Provider) setProvider);
+                bind((Key) ServiceBinder.servicesKey(entry.getKey())).toProvider((Provider) () -> Services.of(setProvider.get()));
+            }
+        }
+    }
+
+    private static class LayerEntry {
+        final ModuleLayer layer;
+        final List<LayerEntry> parents = new ArrayList<>();
+        final Map<Class<?>, List<Class<?>>> bindings = new LinkedHashMap<>();
+        final List<Injector> extensions = new ArrayList<>();
+        volatile Injector injector;
+
+        LayerEntry(ModuleLayer layer) {
+            this.layer = layer;
+        }
+
+        Set<LayerEntry> ancestors() {
+            var ancestors = new LinkedHashSet<LayerEntry>();
+            for (var parent : parents) {
+                ancestors.add(parent);
+                ancestors.addAll(parent.ancestors());
+            }
+            return ancestors;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.rhizomatic.inject.guice;
+
+import com.google.inject.Key;
+import com.google.inject.MembersInjector;
+import com.google.inject.Provider;
+import com.google.inject.TypeLiteral;
+import com.google.inject.spi.TypeEncounter;
+import com.google.inject.spi.TypeListener;
+import io.rhizomatic.api.RhizomaticException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Injects fields annotated with {@code @Lazy}. Interface fields receive a proxy that creates the target on first invocation; {@code Provider} fields receive a provider
+ * that creates the target on first access. Creation is single-flight: concurrent callers wait for the first to complete and all observe the same instance.
+ */
+public class LazyInjectionListener implements TypeListener {
+    private static final Set<String> INJECT = Set.of("javax.inject.Inject", "com.google.inject.Inject");
+    private static final Set<String> PROVIDERS = Set.of("javax.inject.Provider", "com.google.inject.Provider");
+
+    private Map<Class<?>, List<Field>> fieldMap;
+
+    public LazyInjectionListener(Map<Class<?>, List<Field>> fieldMap) {
+        this.fieldMap = fieldMap;
+    }
+
+    public <I> void hear(TypeLiteral<I> typeLiteral, TypeEncounter<I> typeEncounter) {
+        var fields = fieldMap.get(typeLiteral.getRawType());
+        if (fields == null) {
+            return;
+        }
+        for (var field : fields) {
+            var error = validate(field);
+            if (error != null) {
+                typeEncounter.addError("Invalid @Lazy field %s.%s: %s", field.getDeclaringClass().getName(), field.getName(), error);
+                continue;
+            }
+            var isProvider = PROVIDERS.contains(field.getType().getName());
+            var targetType = isProvider ? ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] : field.getGenericType();
+            var provider = typeEncounter.getProvider(Key.get(targetType));
+            var type = field.getType();
+            field.setAccessible(true);
+            typeEncounter.register((MembersInjector<I>) instance -> {
+                var lazy = new LazyProvider<>(provider);
+                var value = isProvider ? lazy : Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyHandler(type, lazy));
+                try {
+                    field.set(instance, value);
+                } catch (IllegalAccessException e) {
+                    throw new RhizomaticException(e);
+                }
+            });
+        }
+    }
+
+    private String validate(Field field) {
+        for (var annotation : field.getAnnotations()) {
+            if (INJECT.contains(annotation.annotationType().getName())) {
+                return "fields must not also be annotated with @Inject";
+            }
+        }
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            return "fields must not be static or final";
+        }
+        var type = field.getType();
+        if (PROVIDERS.contains(type.getName())) {
+            return field.getGenericType() instanceof ParameterizedType ? null : "a type parameter must be specified";
+        }
+        return type.isInterface() ? null : "fields must be an interface or Provider type";
+    }
+
+    /**
+     * Creates the target once, on first access.
+     */
+    private static class LazyProvider<T> implements Provider<T> {
+        private Provider<T> delegate;
+        private volatile T instance;
+
+        LazyProvider(Provider<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        public T get() {
+            var current = instance;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (instance == null) {
+                    instance = delegate.get();
+                }
+                return instance;
+            }
+        }
+    }
+
+    /**
+     * Dispatches invocations to the lazily created target. Identity methods are handled by the proxy so they do not trigger creation.
+     */
+    private static class LazyHandler implements InvocationHandler {
+        private Class<?> type;
+        private LazyProvider<?> provider;
+
+        LazyHandler(Class<?> type, LazyProvider<?> provider) {
+            this.type = type;
+            this.provider = provider;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Lazy proxy for " + type.getName();
+                    default:
+                        break;
+                }
+            }
+            try {
+                return method.invoke(provider.get(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
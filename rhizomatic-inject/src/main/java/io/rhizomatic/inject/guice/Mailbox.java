@@ -0,0 +1,71 @@
+package io.rhizomatic.inject.guice;
+
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes tasks in submission order on a single consumer thread, which is a virtual thread if the runtime supports them. Producers enqueue into a lock-free queue and
+ * unpark the consumer, which parks when the queue is empty.
+ */
+class Mailbox implements Runnable {
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final Thread consumer;
+    private volatile boolean closed;
+
+    Mailbox(String name) {
+        consumer = VirtualThreads.newThread(name, true, this);
+        consumer.start();
+    }
+
+    /**
+     * Returns true if the current thread is the consumer thread.
+     */
+    boolean isConsumer() {
+        return Thread.currentThread() == consumer;
+    }
+
+    /**
+     * Enqueues a task. A task that is accepted is executed, including when the mailbox is closed concurrently.
+     *
+     * @throws RejectedExecutionException if the mailbox is closed
+     */
+    void submit(Runnable task) {
+        if (closed) {
+            throw new RejectedExecutionException("Mailbox is closed: " + consumer.getName());
+        }
+        queue.offer(task);
+        if (closed && queue.remove(task)) {
+            // closed concurrently and the consumer may have exited without draining the task
+            throw new RejectedExecutionException("Mailbox is closed: " + consumer.getName());
+        }
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Stops accepting tasks. Tasks already enqueued are executed before the consumer thread exits.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+    }
+
+    public void run() {
+        while (true) {
+            var task = queue.poll();
+            if (task != null) {
+                task.run();
+            } else if (closed) {
+                // drain tasks enqueued concurrently with closing
+                while ((task = queue.poll()) != null) {
+                    task.run();
+                }
+                return;
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+}
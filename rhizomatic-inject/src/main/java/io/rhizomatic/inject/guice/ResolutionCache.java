@@ -0,0 +1,137 @@
+package io.rhizomatic.inject.guice;
+
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Scopes;
+import com.google.inject.multibindings.MapBinderBinding;
+import com.google.inject.multibindings.MultibinderBinding;
+import com.google.inject.multibindings.MultibindingsTargetVisitor;
+import com.google.inject.multibindings.OptionalBinderBinding;
+import com.google.inject.spi.DefaultBindingTargetVisitor;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches resolution of types against an injector. Singleton instances and sets of singleton multi-bindings are resolved once and returned on subsequent lookups;
+ * other bindings cache their provider. Instances associated with a qualifier are resolved once into an immutable snapshot. Lookups are backed by {@link ClassValue}
+ * and do not take locks or allocate after the first resolution.
+ * <p>
+ * Bindings are looked up in the injector returned by a locator, which allows resolution against an injector hierarchy. A cache must be discarded when injectors are
+ * recreated.
+ */
+public class ResolutionCache {
+    private final ClassValue<Supplier<?>> instances;
+    private final ClassValue<Supplier<?>> multiplicities;
+    private final ClassValue<Set<?>> qualified;
+
+    /**
+     * Constructor.
+     *
+     * @param locator returns the injector containing the binding for a key
+     * @param qualifiedServices the implementation types associated with qualifiers
+     */
+    public ResolutionCache(Function<Key<?>, Injector> locator, Map<Class<?>, Set<Class<?>>> qualifiedServices) {
+        instances = new ClassValue<>() {
+            protected Supplier<?> computeValue(Class<?> type) {
+                var key = Key.get(type);
+                var binding = locator.apply(key).getBinding(key);
+                if (Scopes.isSingleton(binding)) {
+                    var instance = binding.getProvider().get();
+                    return () -> instance;
+                }
+                return binding.getProvider()::get;
+            }
+        };
+        multiplicities = new ClassValue<>() {
+            protected Supplier<?> computeValue(Class<?> type) {
+                var key = ServiceBinder.setKey(type);
+                var injector = locator.apply(key);
+                var binding = injector.getExistingBinding(key);
+                if (binding == null) {
+                    if (ServiceBinder.isMultiplicity(type)) {
+                        return Collections::emptySet;  // no services contribute to the multiplicity
+                    }
+                    binding = injector.getBinding(key);  // fails since sets are not bound just-in-time
+                }
+                if (binding.acceptTargetVisitor(SingletonElementsVisitor.INSTANCE)) {
+                    var set = binding.getProvider().get();
+                    return () -> set;
+                }
+                return binding.getProvider()::get;
+            }
+        };
+        qualified = new ClassValue<>() {
+            protected Set<?> computeValue(Class<?> qualifier) {
+                var implTypes = qualifiedServices.get(qualifier);
+                if (implTypes == null) {
+                    return Collections.emptySet();
+                }
+                var resolved = new LinkedHashSet<>();
+                for (var implType : implTypes) {
+                    var instance = resolve(implType);
+                    if (instance != null) {
+                        resolved.add(instance);
+                    }
+                }
+                return Collections.unmodifiableSet(resolved);
+            }
+        };
+    }
+
+    /**
+     * Returns the instance bound to the type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T resolve(Class<T> type) {
+        return (T) instances.get(type).get();
+    }
+
+    /**
+     * Returns the set of instances multi-bound to the type or an empty set if the type is a multiplicity and none are bound.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Set<T> resolveAll(Class<T> type) {
+        return (Set<T>) multiplicities.get(type).get();
+    }
+
+    /**
+     * Returns the snapshot of instances associated with the qualifier.
+     */
+    public Set<?> resolveQualifiedTypes(Class<?> qualifier) {
+        return qualified.get(qualifier);
+    }
+
+    /**
+     * Determines if all elements of a multi-binding are singletons, in which case the resulting set does not change and can be cached.
+     */
+    private static class SingletonElementsVisitor extends DefaultBindingTargetVisitor<Object, Boolean> implements MultibindingsTargetVisitor<Object, Boolean> {
+        static final SingletonElementsVisitor INSTANCE = new SingletonElementsVisitor();
+
+        public Boolean visit(MultibinderBinding<?> multibinding) {
+            for (Binding<?> element : multibinding.getElements()) {
+                if (!Scopes.isSingleton(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Boolean visit(MapBinderBinding<?> mapbinding) {
+            return false;
+        }
+
+        public Boolean visit(OptionalBinderBinding<?> optionalbinding) {
+            return false;
+        }
+
+        protected Boolean visitOther(Binding<?> binding) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.rhizomatic.inject.guice;
+
+import io.rhizomatic.api.annotations.Serialized;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Executes invocations of services annotated with {@link Serialized} on a mailbox per service class. Since services are singletons, this is a mailbox per service.
+ */
+public class SerializingInterceptor implements MethodInterceptor {
+    private final List<Mailbox> mailboxes = new ArrayList<>();   // guarded by this
+    private boolean closed;
+
+    private final ClassValue<Mailbox> classMailboxes = new ClassValue<>() {
+        protected Mailbox computeValue(Class<?> type) {
+            synchronized (SerializingInterceptor.this) {
+                var mailbox = new Mailbox(type.getName());
+                if (closed) {
+                    mailbox.close();
+                }
+                mailboxes.add(mailbox);
+                return mailbox;
+            }
+        }
+    };
+
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var mailbox = classMailboxes.get(invocation.getThis().getClass());
+        if (mailbox.isConsumer()) {
+            return invocation.proceed();  // invoked by the service itself
+        }
+        var result = new CompletableFuture<>();
+        mailbox.submit(() -> {
+            try {
+                var value = invocation.proceed();
+                if (value instanceof CompletionStage && isAsynchronous(invocation.getMethod())) {
+                    ((CompletionStage<?>) value).whenComplete((v, e) -> {
+                        if (e != null) {
+                            result.completeExceptionally(e);
+                        } else {
+                            result.complete(v);
+                        }
+                    });
+                } else {
+                    result.complete(value);
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (isAsynchronous(invocation.getMethod())) {
+            return result;
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Stops accepting invocations. Invocations already made are completed.
+     */
+    public synchronized void close() {
+        closed = true;
+        mailboxes.forEach(Mailbox::close);
+    }
+
+    /**
+     * Returns true if invocations of the method of a serialized service should be serialized.
+     */
+    static boolean isSerialized(Method method) {
+        return !method.isSynthetic() && method.getDeclaringClass() != Object.class && Modifier.isPublic(method.getModifiers());
+    }
+
+    private static boolean isAsynchronous(Method method) {
+        var type = method.getReturnType();
+        return type == CompletionStage.class || type == CompletableFuture.class;
+    }
+}
@@ -0,0 +1,140 @@
+package io.rhizomatic.inject.guice;
+
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.util.Types;
+import io.rhizomatic.api.Services;
+import io.rhizomatic.api.annotations.Multiplicity;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds scanned services to Guice.
+ */
+public class ServiceBinder {
+
+    /**
+     * Binds services to their contracts. Multiplicities are bound as a {@code Set} and as {@link Services}. Implementation types are also bound as singletons, so
+     * resolving a service by its implementation type returns the instance bound to its contracts. If a parent injector is provided, services are bound in a child
+     * injector and contracts already bound by the parent are skipped since Guice does not allow a child to override them; the implementation types remain resolvable.
+     *
+     * @param binder the binder
+     * @param bindings the contracts and the implementation types bound to them
+     * @param parent the parent injector or null if bindings are made in a root injector
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void bind(Binder binder, Map<Class<?>, List<Class<?>>> bindings, @Nullable Injector parent) {
+        var implementations = new HashSet<Class<?>>();  // an implementation may be bound to several contracts
+        for (var entry : bindings.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                //noinspection UnnecessaryContinue
+                continue;
+            } else if (entry.getValue().size() == 1 && !isMultiplicity(entry.getKey())) {
+                Class implClass = entry.getValue().get(0);
+                if (entry.getKey().equals(implClass) || isBound(parent, Key.get(entry.getKey()))) {
+                    bindImplementation(binder, implClass, parent, implementations);
+                    continue;
+                }
+                binder.bind(entry.getKey()).to(implClass).in(Scopes.SINGLETON);
+                // share the instance with lookups by implementation type and prevent just-in-time bindings being created in a parent
+                bindImplementation(binder, implClass, parent, implementations);
+            } else {
+                var setType = setElementType(entry.getKey());
+                if (isBound(parent, setKey(entry.getKey()))) {
+                    entry.getValue().forEach(implClass -> bindImplementation(binder, implClass, parent, implementations));
+                    continue;
+                }
+                Multibinder builder = Multibinder.newSetBinder(binder, setType);
+                // order the multi-bindings are loaded in the module determines injection order
+                for (Class implClass : entry.getValue()) {
+                    builder.addBinding().to(implClass).in(Scopes.SINGLETON);
+                    bindImplementation(binder, implClass, parent, implementations);    // force singleton .cf https://github.com/google/guice/issues/791
+                }
+                // array-backed view of the set, in the same order
+                var setProvider = binder.getProvider(setKey(entry.getKey()));
+                binder.bind((Key) servicesKey(entry.getKey())).toProvider((Provider) () -> Services.of((Set<?>) setProvider.get())).in(Scopes.SINGLETON);
+            }
+        }
+    }
+
+    /**
+     * Returns the key a contract is bound to: the contract type for single bindings or a set of the contract type for multiplicities.
+     *
+     * @param contract the contract
+     * @param implClasses the implementation types bound to the contract
+     */
+    public static Key<?> contractKey(Class<?> contract, List<Class<?>> implClasses) {
+        if (implClasses.size() == 1 && !isMultiplicity(contract)) {
+            return Key.get(contract);
+        }
+        return setKey(contract);
+    }
+
+    /**
+     * Returns the key of the set bound for a multiplicity contract. Type parameters of generic contracts are bound as wildcards.
+     *
+     * @param contract the contract
+     */
+    public static Key<?> setKey(Class<?> contract) {
+        return Key.get(Types.setOf(setElementType(contract).getType()));
+    }
+
+    /**
+     * Returns the key of the {@link Services} collection bound for a multiplicity contract.
+     *
+     * @param contract the contract
+     */
+    public static Key<?> servicesKey(Class<?> contract) {
+        return Key.get(Types.newParameterizedType(Services.class, setElementType(contract).getType()));
+    }
+
+    /**
+     * Returns true if the type may be bound to injection points as a multiplicity.
+     */
+    public static boolean isMultiplicity(Class<?> type) {
+        if (type.isAnnotationPresent(Multiplicity.class)) {
+            return true;
+        }
+        for (var interfaze : type.getInterfaces()) {
+            if (isMultiplicity(interfaze)) {
+                return true;
+            }
+        }
+        return type.getSuperclass() != null && isMultiplicity(type.getSuperclass());
+    }
+
+    private static TypeLiteral<?> setElementType(Class<?> contract) {
+        if (contract.getTypeParameters().length == 0) {
+            return TypeLiteral.get(contract);
+        }
+        // bind generic params to wildcard types
+        var paramTypes = new Type[contract.getTypeParameters().length];
+        for (var i = 0; i < contract.getTypeParameters().length; i++) {
+            paramTypes[i] = Types.subtypeOf(Object.class);
+        }
+        return TypeLiteral.get(Types.newParameterizedType(contract, paramTypes));
+    }
+
+    private static void bindImplementation(Binder binder, Class<?> implClass, @Nullable Injector parent, Set<Class<?>> implementations) {
+        if (implementations.add(implClass) && !isBound(parent, Key.get(implClass))) {
+            binder.bind(implClass).in(Scopes.SINGLETON);
+        }
+    }
+
+    private static boolean isBound(@Nullable Injector parent, Key<?> key) {
+        return parent != null && parent.getExistingBinding(key) != null;
+    }
+
+    private ServiceBinder() {
+    }
+}
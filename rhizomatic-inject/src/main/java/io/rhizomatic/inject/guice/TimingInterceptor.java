@@ -0,0 +1,57 @@
+package io.rhizomatic.inject.guice;
+
+import io.rhizomatic.api.annotations.Timed;
+import io.rhizomatic.inject.metrics.LogLinearHistogram;
+import io.rhizomatic.inject.metrics.RzTimerRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records invocations of methods annotated with {@link Timed} or declared by classes annotated with it.
+ */
+public class TimingInterceptor implements MethodInterceptor {
+    private RzTimerRegistry timerRegistry;
+
+    // histograms are resolved once per method; entries are held by the declaring class so they are discarded when it is unloaded
+    private ClassValue<ConcurrentHashMap<Method, LogLinearHistogram>> methodHistograms = new ClassValue<>() {
+        protected ConcurrentHashMap<Method, LogLinearHistogram> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public TimingInterceptor(RzTimerRegistry timerRegistry) {
+        this.timerRegistry = timerRegistry;
+    }
+
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        var histograms = methodHistograms.get(method.getDeclaringClass());
+        var histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, timerRegistry::getHistogram);
+        }
+        var start = System.nanoTime();
+        try {
+            var result = invocation.proceed();
+            histogram.record(System.nanoTime() - start, false);
+            return result;
+        } catch (Throwable e) {
+            histogram.record(System.nanoTime() - start, true);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns true if invocations of the method should be timed.
+     */
+    static boolean isTimed(Method method) {
+        if (method.isSynthetic() || method.getDeclaringClass() == Object.class) {
+            return false;
+        }
+        return method.isAnnotationPresent(Timed.class) || (method.getDeclaringClass().isAnnotationPresent(Timed.class) && Modifier.isPublic(method.getModifiers()));
+    }
+}
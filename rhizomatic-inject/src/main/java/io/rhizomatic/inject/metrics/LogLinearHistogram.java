@@ -0,0 +1,133 @@
+package io.rhizomatic.inject.metrics;
+
+import io.rhizomatic.api.metrics.TimerSnapshot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with log-linear buckets: each power of two is divided into eight linear sub-buckets, bounding the error of a recorded value to 12.5%.
+ * Values from one nanosecond to about eighteen minutes are distinguished; larger values are recorded in the last bucket.
+ * <p>
+ * Recording does not allocate. Threads record into stripes selected by thread id so concurrent invocations rarely contend on the same counters; stripes are summed when
+ * a snapshot is taken.
+ */
+public class LogLinearHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    // counters stored after the buckets in each stripe
+    private static final int COUNT = BUCKETS;
+    private static final int ERRORS = BUCKETS + 1;
+    private static final int TOTAL = BUCKETS + 2;
+    private static final int MAX = BUCKETS + 3;
+    private static final int STRIPE_LENGTH = BUCKETS + 4;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final String name;
+    private final AtomicLongArray[] stripes;
+
+    public LogLinearHistogram(String name) {
+        this.name = name;
+        var stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+        stripes = new AtomicLongArray[stripeCount];
+        for (var i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(STRIPE_LENGTH);
+        }
+    }
+
+    /**
+     * Records an invocation.
+     *
+     * @param nanos the invocation latency
+     * @param error true if the invocation threw an exception
+     */
+    public void record(long nanos, boolean error) {
+        var value = Math.max(0, nanos);
+        var stripe = stripes[spread(Long.hashCode(Thread.currentThread().getId())) & (stripes.length - 1)];
+        stripe.getAndIncrement(bucketOf(value));
+        stripe.getAndIncrement(COUNT);
+        if (error) {
+            stripe.getAndIncrement(ERRORS);
+        }
+        stripe.getAndAdd(TOTAL, value);
+        var max = stripe.get(MAX);
+        while (value > max && !stripe.compareAndSet(MAX, max, value)) {
+            max = stripe.get(MAX);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the recorded values. Invocations recorded while the snapshot is taken may be partially included.
+     */
+    public TimerSnapshot snapshot() {
+        var buckets = new long[BUCKETS];
+        long count = 0;
+        long errors = 0;
+        long total = 0;
+        long max = 0;
+        for (var stripe : stripes) {
+            for (var i = 0; i < BUCKETS; i++) {
+                buckets[i] += stripe.get(i);
+            }
+            count += stripe.get(COUNT);
+            errors += stripe.get(ERRORS);
+            total += stripe.get(TOTAL);
+            max = Math.max(max, stripe.get(MAX));
+        }
+        var mean = count == 0 ? 0 : total / count;
+        return new TimerSnapshot(name, count, errors, mean, max, percentile(buckets, 0.5, max), percentile(buckets, 0.9, max), percentile(buckets, 0.99, max),
+                                 percentile(buckets, 0.999, max));
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the percentile, limited to the maximum recorded value.
+     */
+    private static long percentile(long[] buckets, double percentile, long max) {
+        long total = 0;
+        for (var bucket : buckets) {
+            total += bucket;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        var rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (var i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        var exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        var exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        var subBucket = bucket % SUB_BUCKETS;
+        var shift = exponent - SUB_BUCKET_BITS;
+        return ((SUB_BUCKETS + subBucket + 1L) << shift) - 1;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,43 @@
+package io.rhizomatic.inject.metrics;
+
+import io.rhizomatic.api.metrics.TimerRegistry;
+import io.rhizomatic.api.metrics.TimerSnapshot;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Default timer registry. Histograms are registered by method signature, so timings are retained when a class is reloaded and overloads are recorded separately.
+ */
+public class RzTimerRegistry implements TimerRegistry {
+    private ConcurrentHashMap<String, LogLinearHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the histogram for the method, creating it if it does not exist.
+     *
+     * @param method the method
+     */
+    public LogLinearHistogram getHistogram(Method method) {
+        return histograms.computeIfAbsent(signature(method), LogLinearHistogram::new);
+    }
+
+    public List<TimerSnapshot> getSnapshots() {
+        var snapshots = new ArrayList<TimerSnapshot>();
+        histograms.values().forEach(histogram -> snapshots.add(histogram.snapshot()));
+        snapshots.sort(comparing(TimerSnapshot::getName));
+        return snapshots;
+    }
+
+    private static String signature(Method method) {
+        var joiner = new StringJoiner(",", method.getDeclaringClass().getName() + "." + method.getName() + "(", ")");
+        for (var parameterType : method.getParameterTypes()) {
+            joiner.add(parameterType.getTypeName());
+        }
+        return joiner.toString();
+    }
+}
@@ -2,6 +2,8 @@ package io.rhizomatic.inject.scan;
 
 import io.rhizomatic.api.annotations.Eager;
 import io.rhizomatic.api.annotations.Init;
+import io.rhizomatic.api.annotations.Lazy;
+import io.rhizomatic.api.annotations.Scheduled;
 import io.rhizomatic.api.annotations.Service;
 import io.rhizomatic.kernel.spi.scan.Introspector;
 import io.rhizomatic.kernel.spi.scan.ScanIndex;
@@ -29,11 +31,23 @@ public class InjectionIntrospector implements Introspector {
             builder.eager(type);
         }
 
-        // introspect for @Init - only support public methods
+        // introspect for @Init and @Scheduled - only support public methods
         for (var method : type.getMethods()) {
             if (method.getAnnotation(Init.class) != null) {
                 builder.initCallback(type, method);
             }
+            if (method.getAnnotation(Scheduled.class) != null) {
+                builder.scheduled(type, method);
+            }
+        }
+
+        // introspect for @Lazy fields, including those declared in supertypes
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (var field : current.getDeclaredFields()) {
+                if (field.getAnnotation(Lazy.class) != null) {
+                    builder.lazyInjection(type, field);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,104 @@
+package io.rhizomatic.inject.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ */
+public class TinyLfuCacheTest {
+
+    @Test
+    public void verifyFrequentEntriesSurviveScan() {
+        var cache = new TinyLfuCache<Integer, Integer>("test", 100, 0, TimeUnit.MILLISECONDS);
+        for (var round = 0; round < 10; round++) {
+            for (var i = 0; i < 50; i++) {
+                if (cache.get(i) == null) {
+                    cache.put(i, i);
+                }
+            }
+        }
+        // a scan of one-time keys must not flush the frequently used ones
+        for (var i = 1000; i < 11_000; i++) {
+            cache.put(i, i);
+        }
+        var retained = 0;
+        for (var i = 0; i < 50; i++) {
+            if (cache.get(i) != null) {
+                retained++;
+            }
+        }
+        Assertions.assertTrue(retained >= 45, "Retained " + retained);
+        Assertions.assertTrue(cache.size() <= 100);
+        Assertions.assertTrue(cache.getStatistics().getEvictionCount() >= 10_000 - 100);
+    }
+
+    @Test
+    public void verifyExpiration() {
+        var time = new AtomicLong();
+        var cache = new TinyLfuCache<String, String>("test", 10, TimeUnit.SECONDS.toNanos(1), time::get);
+        cache.put("a", "1");
+        time.set(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.put("b", "2");
+        Assertions.assertEquals("1", cache.get("a"));
+
+        time.set(TimeUnit.MILLISECONDS.toNanos(1200));
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals("2", cache.get("b"));
+
+        time.set(TimeUnit.MILLISECONDS.toNanos(1600));
+        cache.put("c", "3");  // writes remove expired entries
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(2, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void verifyInvalidation() {
+        var cache = new TinyLfuCache<String, String>("test", 10, 0, TimeUnit.MILLISECONDS);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.invalidate("a");
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals("2", cache.get("b"));
+        cache.invalidateAll();
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void verifyConcurrentAccessRemainsBounded() throws Exception {
+        var cache = new TinyLfuCache<Integer, Integer>("test", 500, 0, TimeUnit.MILLISECONDS);
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < threads; t++) {
+                var seed = t;
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < 100_000; i++) {
+                        var key = (i * 31 + seed) % 2000;
+                        var value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else {
+                            Assertions.assertEquals(key, value);
+                        }
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertTrue(cache.size() <= 500, "Size " + cache.size());
+    }
+}
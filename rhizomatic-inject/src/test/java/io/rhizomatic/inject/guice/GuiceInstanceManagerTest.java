@@ -0,0 +1,471 @@
+package io.rhizomatic.inject.guice;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.Services;
+import io.rhizomatic.api.annotations.Cached;
+import io.rhizomatic.api.annotations.Multiplicity;
+import io.rhizomatic.api.annotations.Init;
+import io.rhizomatic.api.annotations.Lazy;
+import io.rhizomatic.api.annotations.Serialized;
+import io.rhizomatic.api.annotations.Service;
+import io.rhizomatic.api.annotations.Timed;
+import io.rhizomatic.api.cache.CacheManager;
+import io.rhizomatic.api.metrics.TimerRegistry;
+import io.rhizomatic.api.testing.Allocations;
+import io.rhizomatic.kernel.spi.layer.LoadedLayer;
+import io.rhizomatic.inject.scan.InjectionIntrospector;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.module.Configuration;
+import java.lang.module.ModuleFinder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ */
+public class GuiceInstanceManagerTest {
+
+    @Test
+    public void verifyResolutionsAreCached() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestListener2.class).build());
+
+        var greeter = manager.resolve(Greeter.class);
+        Assertions.assertNotNull(greeter);
+        Assertions.assertSame(greeter, manager.resolve(Greeter.class));
+        Assertions.assertSame(greeter, manager.resolve(TestGreeter.class));  // the implementation type resolves the same singleton
+
+        var listeners = manager.resolveAll(Listener.class);
+        Assertions.assertEquals(2, listeners.size());
+        Assertions.assertSame(listeners, manager.resolveAll(Listener.class));
+    }
+
+    @Test
+    public void verifyServicesInjection() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestListener2.class).service(TestListener1.class).service(TestFanOut.class).build());
+
+        var fanOut = manager.resolve(TestFanOut.class);
+        Assertions.assertEquals(2, fanOut.services.size());
+        Assertions.assertEquals(List.copyOf(fanOut.listeners), fanOut.services);
+        Assertions.assertEquals(TestListener1.class, fanOut.services.get(0).getClass());  // ordered by @Service(order)
+    }
+
+    @Test
+    public void verifyResolveAllUnboundIsEmpty() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).build());
+        Assertions.assertTrue(manager.resolveAll(Listener.class).isEmpty());
+        Assertions.assertThrows(RhizomaticException.class, () -> manager.resolveAll(Report.class));
+    }
+
+    @Test
+    public void verifyRewireInvalidatesCache() {
+        var manager = new GuiceInstanceManager();
+        var index = ScanIndex.Builder.newInstance().service(TestGreeter.class).build();
+        manager.wire(index);
+        var greeter = manager.resolve(Greeter.class);
+
+        manager.wire(index);
+        Assertions.assertNotSame(greeter, manager.resolve(Greeter.class));
+    }
+
+    @Test
+    public void verifyExtendRetainsExistingInstances() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).build());
+        var greeter = manager.resolve(Greeter.class);
+
+        manager.extend(ScanIndex.Builder.newInstance().service(TestConsumer.class).build());
+
+        Assertions.assertSame(greeter, manager.resolve(Greeter.class));
+        var consumer = manager.resolve(TestConsumer.class);
+        Assertions.assertNotNull(consumer);
+        Assertions.assertSame(greeter, consumer.greeter);
+        Assertions.assertEquals(1, consumer.listeners.size());
+    }
+
+    @Test
+    public void verifyExtendContributingToMultiplicityRewires() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).service(TestListener1.class).service(TestFanOut.class).build());
+        Assertions.assertEquals(1, manager.resolve(TestFanOut.class).services.size());
+
+        manager.extend(ScanIndex.Builder.newInstance().service(TestListener2.class).build());
+
+        Assertions.assertEquals(2, manager.resolveAll(Listener.class).size());
+        var fanOut = manager.resolve(TestFanOut.class);
+        Assertions.assertEquals(2, fanOut.services.size());
+        Assertions.assertEquals(TestListener2.class, fanOut.services.get(1).getClass());
+        Assertions.assertNotNull(manager.resolve(Greeter.class));
+    }
+
+    @Test
+    public void verifyQualifiedTypesAreSnapshot() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).qualified(TestGreeter.class, Qualifier.class).build());
+
+        var qualified = manager.resolveQualifiedTypes(Qualifier.class);
+        Assertions.assertEquals(1, qualified.size());
+        Assertions.assertSame(qualified, manager.resolveQualifiedTypes(Qualifier.class));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> qualified.remove(qualified.iterator().next()));
+        Assertions.assertTrue(manager.resolveQualifiedTypes(Greeter.class).isEmpty());
+    }
+
+    @Test
+    public void verifyQualifiedTypeLookupDoesNotAllocate() throws Exception {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).qualified(TestGreeter.class, Qualifier.class).build());
+
+        var iterations = 1_000_000;
+        var sink = new int[1];
+        var allocated = Allocations.measure(() -> {
+            for (var i = 0; i < iterations; i++) {
+                sink[0] += manager.resolveQualifiedTypes(Qualifier.class).size();
+            }
+        });
+
+        Assertions.assertEquals(2 * iterations, sink[0]);
+        Assertions.assertTrue(allocated < iterations, "Allocated " + allocated + " bytes for " + iterations + " lookups");
+    }
+
+    @Test
+    public void verifyLayeredInjection() throws Exception {
+        var parentLayer = emptyLayer(ModuleLayer.boot());
+        var childLayer = emptyLayer(parentLayer);
+        var layerOf = Map.<Class<?>, ModuleLayer>of(TestGreeter.class, parentLayer, TestListener1.class, parentLayer, TestLayeredConsumer.class, childLayer);
+
+        var manager = new GuiceInstanceManager(true, layerOf::get);
+        manager.wire(ScanIndex.Builder.newInstance()
+                             .layers(List.of(loaded(parentLayer), loaded(childLayer)))
+                             .service(TestGreeter.class)
+                             .service(TestListener1.class)
+                             .service(TestLayeredConsumer.class)
+                             .initCallback(TestLayeredConsumer.class, TestLayeredConsumer.class.getMethod("init"))
+                             .build());
+
+        var greeter = manager.resolve(Greeter.class);
+        var consumer = manager.resolve(TestLayeredConsumer.class);
+        Assertions.assertSame(greeter, consumer.greeter);
+        Assertions.assertEquals(1, consumer.listeners.size());
+        Assertions.assertTrue(consumer.initialized);
+
+        manager.rebuildLayer(childLayer);
+
+        Assertions.assertSame(greeter, manager.resolve(Greeter.class));
+        var rebuilt = manager.resolve(TestLayeredConsumer.class);
+        Assertions.assertNotSame(consumer, rebuilt);
+        Assertions.assertSame(greeter, rebuilt.greeter);
+        Assertions.assertTrue(rebuilt.initialized);
+    }
+
+    @Test
+    public void verifyLayeredMultiplicityMerged() throws Exception {
+        var parentLayer = emptyLayer(ModuleLayer.boot());
+        var childLayer = emptyLayer(parentLayer);
+        var layerOf = Map.<Class<?>, ModuleLayer>of(TestListener1.class, parentLayer, TestListener2.class, childLayer, TestFanOut.class, childLayer);
+
+        var manager = new GuiceInstanceManager(true, layerOf::get);
+        manager.wire(ScanIndex.Builder.newInstance()
+                             .layers(List.of(loaded(parentLayer), loaded(childLayer)))
+                             .service(TestListener1.class)
+                             .service(TestListener2.class)
+                             .service(TestFanOut.class)
+                             .build());
+
+        var fanOut = manager.resolve(TestFanOut.class);
+        Assertions.assertEquals(2, fanOut.listeners.size());
+        Assertions.assertEquals(TestListener1.class, fanOut.services.get(0).getClass());
+        Assertions.assertEquals(TestListener2.class, fanOut.services.get(1).getClass());
+        Assertions.assertEquals(Set.copyOf(fanOut.services), manager.resolveAll(Listener.class));
+
+        manager.rebuildLayer(childLayer);
+
+        var listeners = manager.resolveAll(Listener.class);
+        Assertions.assertEquals(2, listeners.size());
+        Assertions.assertTrue(listeners.contains(fanOut.services.get(0)));  // retained in the parent layer
+        Assertions.assertFalse(listeners.contains(fanOut.services.get(1)));
+    }
+
+    @Test
+    public void verifyRebuildLayerRequiresLayeredInjection() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestGreeter.class).build());
+        Assertions.assertThrows(IllegalStateException.class, () -> manager.rebuildLayer(ModuleLayer.boot()));
+    }
+
+    @Test
+    public void verifyLazyInjection() throws Exception {
+        var builder = ScanIndex.Builder.newInstance();
+        var introspector = new InjectionIntrospector();
+        introspector.introspect(TestReport.class, builder);
+        introspector.introspect(TestLazyConsumer.class, builder);
+        var manager = new GuiceInstanceManager();
+        manager.wire(builder.build());
+
+        var created = TestReport.CREATED.get();
+        var consumer = manager.resolve(TestLazyConsumer.class);
+        Assertions.assertEquals(created, TestReport.CREATED.get());
+
+        // invoke concurrently; the report must be created exactly once
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var latch = new CountDownLatch(1);
+            var futures = new ArrayList<Future<String>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    return consumer.report.render();
+                }));
+            }
+            latch.countDown();
+            for (var future : futures) {
+                Assertions.assertEquals("report", future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(created + 1, TestReport.CREATED.get());
+        Assertions.assertSame(manager.resolve(Report.class), consumer.reportProvider.get());
+        Assertions.assertEquals(created + 1, TestReport.CREATED.get());
+    }
+
+    @Test
+    public void verifyCachedMethods() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestCatalog.class).build());
+
+        var catalog = manager.resolve(TestCatalog.class);
+        Assertions.assertEquals("item-1", catalog.lookup(1));
+        Assertions.assertEquals("item-1", catalog.lookup(1));
+        Assertions.assertEquals("item-2", catalog.lookup(2));
+        Assertions.assertEquals(2, catalog.invocations.get());
+
+        var cacheManager = manager.resolve(CacheManager.class);
+        cacheManager.invalidate("catalog", 1);
+        Assertions.assertEquals("item-1", catalog.lookup(1));
+        Assertions.assertEquals(3, catalog.invocations.get());
+
+        var statistics = cacheManager.getStatistics().get(0);
+        Assertions.assertEquals("catalog", statistics.getName());
+        Assertions.assertEquals(1, statistics.getHitCount());
+        Assertions.assertEquals(3, statistics.getMissCount());
+        Assertions.assertEquals(2, statistics.getSize());
+    }
+
+    @Test
+    public void verifyTimedMethods() {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestTimedService.class).build());
+
+        var service = manager.resolve(TestTimedService.class);
+        service.run(false);
+        service.run(false);
+        Assertions.assertThrows(IllegalStateException.class, () -> service.run(true));
+        service.run("overload");
+        service.untimed();
+
+        var snapshots = manager.resolve(TimerRegistry.class).getSnapshots();
+        Assertions.assertEquals(2, snapshots.size());
+        Assertions.assertEquals(TestTimedService.class.getName() + ".run(java.lang.String)", snapshots.get(1).getName());
+        Assertions.assertEquals(1, snapshots.get(1).getCount());
+        var snapshot = snapshots.get(0);
+        Assertions.assertEquals(TestTimedService.class.getName() + ".run(boolean)", snapshot.getName());
+        Assertions.assertEquals(3, snapshot.getCount());
+        Assertions.assertEquals(1, snapshot.getErrorCount());
+        Assertions.assertTrue(snapshot.getMaxNanos() > 0);
+    }
+
+    @Test
+    public void verifySerializedServices() throws Exception {
+        var manager = new GuiceInstanceManager();
+        manager.wire(ScanIndex.Builder.newInstance().service(TestCounter.class).build());
+        var counter = manager.resolve(TestCounter.class);
+
+        var threads = 8;
+        var increments = 10_000;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (var j = 0; j < increments; j++) {
+                        counter.increment();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(threads * increments, counter.get());  // unguarded state is not corrupted
+        Assertions.assertEquals(threads * increments + 1, counter.getAsync().toCompletableFuture().get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, counter.threads.size());
+        Assertions.assertThrows(IllegalArgumentException.class, counter::fail);
+
+        manager.close();
+    }
+
+    private ModuleLayer emptyLayer(ModuleLayer parent) {
+        var configuration = Configuration.resolve(ModuleFinder.of(), List.of(parent.configuration()), ModuleFinder.of(), Set.of());
+        return ModuleLayer.defineModulesWithOneLoader(configuration, List.of(parent), getClass().getClassLoader()).layer();
+    }
+
+    private LoadedLayer loaded(ModuleLayer layer) {
+        return new LoadedLayer(layer, getClass().getClassLoader(), Set.of());
+    }
+
+    public @interface Qualifier {
+    }
+
+    public interface Greeter {
+    }
+
+    @Multiplicity
+    public interface Listener {
+    }
+
+    @Service(values = Greeter.class)
+    public static class TestGreeter implements Greeter {
+    }
+
+    @Service(values = Listener.class, order = 1)
+    public static class TestListener1 implements Listener {
+    }
+
+    @Service(values = TestConsumer.class)
+    public static class TestConsumer {
+        @Inject
+        Greeter greeter;
+
+        @Inject
+        Set<Listener> listeners;
+    }
+
+    @Service(values = TestLayeredConsumer.class)
+    public static class TestLayeredConsumer {
+        @Inject
+        Greeter greeter;
+
+        @Inject
+        Set<Listener> listeners;
+
+        boolean initialized;
+
+        @Init
+        public void init() {
+            initialized = true;
+        }
+    }
+
+    @Service(values = TestFanOut.class)
+    public static class TestFanOut {
+        @Inject
+        Set<Listener> listeners;
+
+        @Inject
+        Services<Listener> services;
+    }
+
+    public interface Report {
+        String render();
+    }
+
+    @Service(values = Report.class)
+    public static class TestReport implements Report {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public TestReport() throws InterruptedException {
+            CREATED.incrementAndGet();
+            Thread.sleep(50);  // widen the window for concurrent creation
+        }
+
+        public String render() {
+            return "report";
+        }
+    }
+
+    @Service(values = TestLazyConsumer.class)
+    public static class TestLazyConsumer {
+        @Lazy
+        Report report;
+
+        @Lazy
+        Provider<Report> reportProvider;
+    }
+
+    @Service(values = Listener.class, order = 2)
+    public static class TestListener2 implements Listener {
+    }
+
+    @Service(values = TestCatalog.class)
+    public static class TestCatalog {
+        AtomicInteger invocations = new AtomicInteger();
+
+        @Cached(name = "catalog", maximumSize = 10)
+        public String lookup(int id) {
+            invocations.incrementAndGet();
+            return "item-" + id;
+        }
+    }
+
+    @Timed
+    @Service(values = TestTimedService.class)
+    public static class TestTimedService {
+
+        public void run(boolean fail) {
+            if (fail) {
+                throw new IllegalStateException();
+            }
+        }
+
+        public void run(String message) {
+        }
+
+        void untimed() {
+        }
+    }
+
+    @Serialized
+    @Service(values = TestCounter.class)
+    public static class TestCounter {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        int count;
+
+        public void increment() {
+            threads.add(Thread.currentThread());
+            count++;
+        }
+
+        public int get() {
+            return count;
+        }
+
+        public CompletionStage<Integer> getAsync() {
+            increment();  // invoked by the service itself, so it executes immediately
+            return CompletableFuture.completedFuture(count);
+        }
+
+        public void fail() {
+            throw new IllegalArgumentException();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.rhizomatic.inject.guice;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ */
+public class MailboxTest {
+
+    @Test
+    public void verifyCloseDuringSubmit() throws Exception {
+        for (var round = 0; round < 20; round++) {
+            var mailbox = new Mailbox("test-" + round);
+            var accepted = new AtomicInteger();
+            var executed = new AtomicInteger();
+            var producers = new Thread[4];
+            for (var i = 0; i < producers.length; i++) {
+                producers[i] = new Thread(() -> {
+                    try {
+                        while (true) {
+                            mailbox.submit(executed::incrementAndGet);
+                            accepted.incrementAndGet();
+                        }
+                    } catch (RejectedExecutionException e) {
+                        // closed
+                    }
+                });
+                producers[i].start();
+            }
+            while (accepted.get() < 100) {
+                Thread.onSpinWait();
+            }
+            mailbox.close();
+            for (var producer : producers) {
+                producer.join(10_000);
+            }
+
+            // every accepted task is executed
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executed.get() < accepted.get() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Assertions.assertEquals(accepted.get(), executed.get());
+        }
+    }
+}
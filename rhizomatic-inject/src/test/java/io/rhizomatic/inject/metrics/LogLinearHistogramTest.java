@@ -0,0 +1,81 @@
+package io.rhizomatic.inject.metrics;
+
+import io.rhizomatic.api.testing.Allocations;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ */
+public class LogLinearHistogramTest {
+
+    @Test
+    public void verifyBucketsBoundRelativeError() {
+        for (var value = 1L; value < 1L << 40; value = value * 3 / 2 + 1) {
+            var upper = LogLinearHistogram.upperBoundOf(LogLinearHistogram.bucketOf(value));
+            Assertions.assertTrue(upper >= value, "Value " + value);
+            Assertions.assertTrue(upper - value <= value / 8, "Value " + value + " upper " + upper);
+        }
+        Assertions.assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void verifySnapshot() {
+        var histogram = new LogLinearHistogram("test");
+        for (var i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L, i % 100 == 0);
+        }
+        var snapshot = histogram.snapshot();
+        Assertions.assertEquals(1000, snapshot.getCount());
+        Assertions.assertEquals(10, snapshot.getErrorCount());
+        Assertions.assertEquals(500_500, snapshot.getMeanNanos());
+        Assertions.assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertWithin(500_000, snapshot.getP50Nanos());
+        assertWithin(990_000, snapshot.getP99Nanos());
+    }
+
+    @Test
+    public void verifyConcurrentRecording() throws Exception {
+        var histogram = new LogLinearHistogram("test");
+        var threads = 8;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for (var t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (var i = 0; i < 100_000; i++) {
+                        histogram.record(100, false);
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(threads * 100_000, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void verifyRecordingDoesNotAllocate() throws Exception {
+        var histogram = new LogLinearHistogram("test");
+        var iterations = 1_000_000;
+        var allocated = Allocations.measure(() -> {
+            for (var i = 0; i < iterations; i++) {
+                histogram.record(i, false);
+            }
+        });
+
+        Assertions.assertTrue(allocated < iterations, "Allocated " + allocated + " bytes for " + iterations + " recordings");
+    }
+
+    private void assertWithin(long expected, long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 8, "Expected " + expected + " was " + actual);
+    }
+}
@@ -1,11 +0,0 @@
-package io.rhizomatic.tests;
-
-/**
- *
- */
-public class TestSubscriber2 implements TestSubscriber {
-
-    public void message(String message) {
-
-    }
-}
@@ -0,0 +1,196 @@
+package io.rhizomatic.kernel.batch;
+
+import io.rhizomatic.api.batch.BatchLoader;
+import io.rhizomatic.api.batch.BatchStatistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Default batch loader. Pending loads are collected in a map keyed by load key, so a key requested again before its batch is dispatched shares the pending future.
+ */
+class RzBatchLoader<K, V> implements BatchLoader<K, V> {
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Function<Set<K>, Map<K, V>> bulkFunction;
+    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    // guarded by this
+    private LinkedHashMap<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> timer;
+
+    RzBatchLoader(String name, int maxBatchSize, long maxDelayMillis, Function<Set<K>, Map<K, V>> bulkFunction, Executor executor, ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.bulkFunction = bulkFunction;
+        this.executor = executor;
+        this.scheduler = scheduler;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        loads.increment();
+        Map<K, CompletableFuture<V>> batch = null;
+        RejectedExecutionException rejected = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = pending.get(key);
+            if (future != null) {
+                deduplicated.increment();
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (pending.size() == 1) {
+                try {
+                    timer = scheduler.schedule(this::dispatch, maxDelayMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    batch = takePending();  // the batch would never be dispatched
+                    rejected = e;
+                }
+            }
+        }
+        if (rejected != null) {
+            batches.increment();
+            keys.add(batch.size());
+            fail(batch, rejected);
+        } else if (batch != null) {
+            execute(batch);
+        }
+        return future;
+    }
+
+    public CompletableFuture<Map<K, V>> loadAll(Collection<? extends K> keys) {
+        return loadAll(keys, this::load);
+    }
+
+    public void dispatch() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        execute(batch);
+    }
+
+    public BatchLoader<K, V> newCachingScope() {
+        return new CachingScope();
+    }
+
+    public BatchStatistics getStatistics() {
+        return new BatchStatistics(name, loads.sum(), batches.sum(), keys.sum(), deduplicated.sum(), errors.sum());
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        var batch = pending;
+        pending = new LinkedHashMap<>();
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+        return batch;
+    }
+
+    private void execute(Map<K, CompletableFuture<V>> batch) {
+        batches.increment();
+        keys.add(batch.size());
+        try {
+            executor.execute(() -> complete(batch));
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private void complete(Map<K, CompletableFuture<V>> batch) {
+        Map<K, V> values;
+        try {
+            values = bulkFunction.apply(Collections.unmodifiableSet(batch.keySet()));
+        } catch (Throwable e) {
+            fail(batch, e);
+            return;
+        }
+        for (var entry : batch.entrySet()) {
+            entry.getValue().complete(values != null ? values.get(entry.getKey()) : null);
+        }
+    }
+
+    private void fail(Map<K, CompletableFuture<V>> batch, Throwable e) {
+        errors.increment();
+        batch.values().forEach(future -> future.completeExceptionally(e));
+    }
+
+    private static <K, V> CompletableFuture<Map<K, V>> loadAll(Collection<? extends K> keys, Function<K, CompletableFuture<V>> loader) {
+        var futures = new LinkedHashMap<K, CompletableFuture<V>>();
+        for (var key : keys) {
+            futures.computeIfAbsent(key, loader);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            var values = new HashMap<K, V>();
+            futures.forEach((key, future) -> {
+                var value = future.join();
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+            return values;
+        });
+    }
+
+    /**
+     * Caches the futures of loads made through the scope.
+     */
+    private class CachingScope implements BatchLoader<K, V> {
+        private ConcurrentHashMap<K, CompletableFuture<V>> cache = new ConcurrentHashMap<>();
+
+        public CompletableFuture<V> load(K key) {
+            var future = cache.get(key);
+            if (future != null) {
+                loads.increment();
+                deduplicated.increment();
+                return future;
+            }
+            return cache.computeIfAbsent(key, RzBatchLoader.this::load);
+        }
+
+        public CompletableFuture<Map<K, V>> loadAll(Collection<? extends K> keys) {
+            return RzBatchLoader.loadAll(keys, this::load);
+        }
+
+        public void dispatch() {
+            RzBatchLoader.this.dispatch();
+        }
+
+        public BatchLoader<K, V> newCachingScope() {
+            return new CachingScope();
+        }
+
+        public BatchStatistics getStatistics() {
+            return RzBatchLoader.this.getStatistics();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.rhizomatic.kernel.batch;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.batch.BatchLoader;
+import io.rhizomatic.api.batch.BatchLoaderFactory;
+import io.rhizomatic.api.batch.BatchStatistics;
+import io.rhizomatic.api.executor.ExecutorProvider;
+import io.rhizomatic.kernel.spi.SystemConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Default batch loader factory. Bulk functions run on the managed {@code batch} executor and batch delays are timed by the managed {@code batch.timer} scheduled
+ * executor; both are created when the first loader is created.
+ * <p>
+ * Loaders are tracked weakly, so statistics are reported for loaders that are still in use and loaders created per request do not accumulate.
+ */
+public class RzBatchLoaderFactory implements BatchLoaderFactory {
+    @SystemConfiguration
+    private static final String SIZE = "batch.%s.size";
+    @SystemConfiguration
+    private static final String DELAY = "batch.%s.delay";
+
+    static final String EXECUTOR = "batch";
+    static final String TIMER = "batch.timer";
+
+    private static final int DEFAULT_SIZE = 100;
+    private static final long DEFAULT_DELAY = 1;
+
+    private ExecutorProvider executorProvider;
+    private Function<String, Object> configuration;
+
+    private Set<RzBatchLoader<?, ?>> loaders = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Constructor.
+     *
+     * @param executorProvider provides the executors bulk functions run on
+     * @param configuration resolves configuration values by key
+     */
+    public RzBatchLoaderFactory(ExecutorProvider executorProvider, Function<String, Object> configuration) {
+        this.executorProvider = executorProvider;
+        this.configuration = configuration;
+    }
+
+    public <K, V> BatchLoader<K, V> create(String name, Function<Set<K>, Map<K, V>> bulkFunction) {
+        return create(name, (int) getLong(SIZE, name, DEFAULT_SIZE), getLong(DELAY, name, DEFAULT_DELAY), bulkFunction);
+    }
+
+    public <K, V> BatchLoader<K, V> create(String name, int maxBatchSize, long maxDelayMillis, Function<Set<K>, Map<K, V>> bulkFunction) {
+        if (maxBatchSize < 1 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Invalid batch size or delay for loader: " + name);
+        }
+        var executor = executorProvider.getExecutor(EXECUTOR);
+        var scheduler = executorProvider.getScheduledExecutor(TIMER);
+        var loader = new RzBatchLoader<>(name, maxBatchSize, maxDelayMillis, bulkFunction, executor, scheduler);
+        loaders.add(loader);
+        return loader;
+    }
+
+    public List<BatchStatistics> getStatistics() {
+        var statistics = new ArrayList<BatchStatistics>();
+        synchronized (loaders) {
+            loaders.forEach(loader -> statistics.add(loader.getStatistics()));
+        }
+        statistics.sort(comparing(BatchStatistics::getName));
+        return statistics;
+    }
+
+    private long getLong(String format, String name, long defaultValue) {
+        var key = String.format(format, name);
+        var value = configuration.apply(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            var parsed = value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString().trim());
+            return parsed >= 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package io.rhizomatic.kernel.cache;
+
+import io.rhizomatic.api.cache.ByteCache;
+import io.rhizomatic.api.cache.CacheStatistics;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Default byte cache. Payloads are appended to direct buffer slabs that are allocated on demand, indexed by an on-heap map. When the byte budget is reached, the oldest
+ * slab is released: payloads in it that were read since they were written are copied to the newest slab (a second chance, as in CLOCK eviction) and the others are
+ * evicted.
+ * <p>
+ * Slabs are never reused, so a buffer returned by {@link #get(String)} always contains the payload as it was written. The memory of a released slab is reclaimed when it
+ * is no longer referenced by returned buffers.
+ */
+public class RzByteCache implements ByteCache {
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+    public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+    private long budget;
+    private int slabSize;
+
+    private ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    private LongAdder hits = new LongAdder();
+    private LongAdder misses = new LongAdder();
+    private LongAdder evictions = new LongAdder();
+
+    // guarded by lock
+    private ReentrantLock lock = new ReentrantLock();
+    private ArrayDeque<Slab> slabs = new ArrayDeque<>();   // oldest first
+    private Slab current;
+    private volatile long allocated;
+
+    /**
+     * Constructor.
+     *
+     * @param budget the maximum number of bytes of off-heap memory to allocate
+     * @param slabSize the size of slabs; payloads larger than a slab are allocated a dedicated slab
+     */
+    public RzByteCache(long budget, int slabSize) {
+        if (budget < 1 || slabSize < 1) {
+            throw new IllegalArgumentException("Budget and slab size must be positive");
+        }
+        this.budget = budget;
+        this.slabSize = (int) Math.min(slabSize, budget);
+    }
+
+    public boolean put(String key, ByteBuffer payload) {
+        var length = payload.remaining();
+        if (length > budget) {
+            return false;
+        }
+        lock.lock();
+        try {
+            var slab = allocate(length);
+            var entry = slab.append(key, payload.duplicate());
+            var previous = index.put(key, entry);
+            if (previous != null) {
+                previous.slab.live--;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public @Nullable ByteBuffer get(String key) {
+        var entry = index.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.view.duplicate();
+    }
+
+    public void invalidate(String key) {
+        var entry = index.remove(key);
+        if (entry != null) {
+            lock.lock();
+            try {
+                entry.slab.live--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            index.clear();
+            slabs.clear();
+            current = null;
+            allocated = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAllocatedBytes() {
+        return allocated;
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics("offheap", index.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Returns a slab with room for the payload, releasing the oldest slabs if the budget would be exceeded.
+     */
+    private Slab allocate(int length) {
+        if (current != null && current.remaining() >= length) {
+            return current;
+        }
+        var capacity = Math.max(slabSize, length);
+        var survivors = new ArrayList<Entry>();
+        while (allocated + capacity > budget && !slabs.isEmpty()) {
+            release(slabs.pollFirst(), survivors);
+        }
+        current = new Slab(ByteBuffer.allocateDirect(capacity));
+        slabs.addLast(current);
+        allocated += capacity;
+
+        // copy payloads read since they were written, reserving room for the new payload
+        for (var survivor : survivors) {
+            if (current.remaining() - length >= survivor.view.remaining()) {
+                var copy = current.append(survivor.key, survivor.view.duplicate());
+                if (!index.replace(survivor.key, survivor, copy)) {
+                    current.live--;
+                }
+            } else if (index.remove(survivor.key, survivor)) {
+                evictions.increment();
+            }
+        }
+        return current;
+    }
+
+    private void release(Slab slab, List<Entry> survivors) {
+        allocated -= slab.buffer.capacity();
+        if (slab == current) {
+            current = null;
+        }
+        if (slab.live == 0) {
+            return;
+        }
+        for (var entry : slab.entries) {
+            if (index.get(entry.key) != entry) {
+                continue;  // replaced or invalidated
+            }
+            if (entry.referenced) {
+                survivors.add(entry);
+            } else if (index.remove(entry.key, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static class Slab {
+        final ByteBuffer buffer;
+        final List<Entry> entries = new ArrayList<>();
+        int live;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        Entry append(String key, ByteBuffer payload) {
+            var offset = buffer.position();
+            buffer.put(payload);
+            var view = buffer.asReadOnlyBuffer();
+            view.position(offset).limit(buffer.position());
+            var entry = new Entry(key, this, view.slice());
+            entries.add(entry);
+            live++;
+            return entry;
+        }
+    }
+
+    private static class Entry {
+        final String key;
+        final Slab slab;
+        final ByteBuffer view;
+        volatile boolean referenced;
+
+        Entry(String key, Slab slab, ByteBuffer view) {
+            this.key = key;
+            this.slab = slab;
+            this.view = view;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.executor.ExecutorMetrics;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An executor that reports metrics.
+ */
+interface MeteredExecutor extends ExecutorService {
+
+    ExecutorMetrics getMetrics();
+
+}
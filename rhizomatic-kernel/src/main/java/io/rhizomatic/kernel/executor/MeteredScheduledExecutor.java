@@ -0,0 +1,34 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.executor.ExecutorMetrics;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A scheduled pool that records task run times.
+ */
+class MeteredScheduledExecutor extends ScheduledThreadPoolExecutor implements MeteredExecutor {
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private String name;
+    private TaskMetrics metrics = new TaskMetrics();
+
+    MeteredScheduledExecutor(String name, int threads, ThreadFactory threadFactory) {
+        super(threads, threadFactory);
+        this.name = name;
+        setRemoveOnCancelPolicy(true);
+    }
+
+    protected void beforeExecute(Thread thread, Runnable task) {
+        START.get()[0] = System.nanoTime();
+    }
+
+    protected void afterExecute(Runnable task, Throwable throwable) {
+        metrics.record(0, System.nanoTime() - START.get()[0]);
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return new ExecutorMetrics(name, getActiveCount(), getQueue().size(), metrics.getCompleted(), 0, metrics.getAverageRunNanos());
+    }
+}
@@ -0,0 +1,29 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.executor.ExecutorMetrics;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed-size pool with a bounded queue. Tasks submitted when the queue is full are rejected.
+ */
+class MeteredThreadPoolExecutor extends ThreadPoolExecutor implements MeteredExecutor {
+    private String name;
+    private TaskMetrics metrics = new TaskMetrics();
+
+    MeteredThreadPoolExecutor(String name, int threads, int queueCapacity, ThreadFactory threadFactory) {
+        super(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+        this.name = name;
+    }
+
+    public void execute(Runnable command) {
+        super.execute(metrics.timed(command));
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return new ExecutorMetrics(name, getActiveCount(), getQueue().size(), metrics.getCompleted(), metrics.getAverageWaitNanos(), metrics.getAverageRunNanos());
+    }
+}
@@ -0,0 +1,149 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.executor.ExecutorMetrics;
+import io.rhizomatic.api.executor.ExecutorProvider;
+import io.rhizomatic.kernel.spi.SystemConfiguration;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Default executor provider. Executors are created on first request and shut down in reverse creation order when the system shuts down.
+ */
+public class RzExecutorProvider implements ExecutorProvider {
+    @SystemConfiguration
+    private static final String THREADS = "executor.%s.threads";
+    @SystemConfiguration
+    private static final String QUEUE = "executor.%s.queue";
+
+    private static final int DEFAULT_QUEUE = 10_000;
+
+    private Function<String, Object> configuration;
+    private Monitor monitor;
+
+    private Map<String, MeteredExecutor> executors = new ConcurrentHashMap<>();
+    private List<MeteredExecutor> created = new ArrayList<>();   // guarded by this
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor.
+     *
+     * @param configuration resolves configuration values by key
+     * @param monitor the monitor
+     */
+    public RzExecutorProvider(Function<String, Object> configuration, Monitor monitor) {
+        this.configuration = configuration;
+        this.monitor = monitor;
+    }
+
+    public ExecutorService getExecutor(String name) {
+        return getOrCreate(name, MeteredThreadPoolExecutor.class, () -> {
+            var threads = getInt(THREADS, name, Runtime.getRuntime().availableProcessors());
+            return new MeteredThreadPoolExecutor(name, threads, getInt(QUEUE, name, DEFAULT_QUEUE), threadFactory(name));
+        });
+    }
+
+    public ExecutorService getThreadPerTaskExecutor(String name) {
+        return getOrCreate(name, ThreadPerTaskExecutor.class, () -> new ThreadPerTaskExecutor(name, getInt(THREADS, name, 0)));
+    }
+
+    public ScheduledExecutorService getScheduledExecutor(String name) {
+        return getOrCreate(name, MeteredScheduledExecutor.class, () -> new MeteredScheduledExecutor(name, getInt(THREADS, name, 1), threadFactory(name)));
+    }
+
+    public List<ExecutorMetrics> getMetrics() {
+        var metrics = new ArrayList<ExecutorMetrics>();
+        for (var executor : executors.values()) {
+            metrics.add(executor.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Shuts down executors, allowing running and queued tasks to complete. Executors that do not terminate within the timeout are interrupted.
+     *
+     * @param timeoutMillis the maximum time to wait for all executors to terminate
+     */
+    public void shutdown(long timeoutMillis) {
+        List<MeteredExecutor> targets;
+        synchronized (this) {
+            shutdown = true;
+            targets = new ArrayList<>(created);
+        }
+        for (var i = targets.size() - 1; i >= 0; i--) {
+            targets.get(i).shutdown();
+        }
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (var executor : targets) {
+            try {
+                if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    monitor.severe(() -> "Executor did not terminate, interrupting tasks: " + executor.getMetrics());
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private <T extends MeteredExecutor> T getOrCreate(String name, Class<T> type, Supplier<T> factory) {
+        var executor = executors.get(name);
+        if (executor == null) {
+            synchronized (this) {
+                if (shutdown) {
+                    throw new IllegalStateException("Executors are shut down");
+                }
+                executor = executors.get(name);
+                if (executor == null) {
+                    executor = factory.get();
+                    executors.put(name, executor);
+                    created.add(executor);
+                }
+            }
+        }
+        if (!type.isInstance(executor)) {
+            throw new RhizomaticException("Executor " + name + " was already created with a different type");
+        }
+        return type.cast(executor);
+    }
+
+    private int getInt(String format, String name, int defaultValue) {
+        var value = getValue(String.format(format, name));
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            var parsed = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new RhizomaticException("Invalid configuration value for " + String.format(format, name) + ": " + value);
+        }
+    }
+
+    @Nullable
+    private Object getValue(String key) {
+        return configuration.apply(key);
+    }
+
+    private ThreadFactory threadFactory(String name) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "rz-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package io.rhizomatic.kernel.executor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records task wait and run times. Updates are striped so recording does not contend across threads.
+ */
+class TaskMetrics {
+    private LongAdder completed = new LongAdder();
+    private LongAdder waitNanos = new LongAdder();
+    private LongAdder runNanos = new LongAdder();
+
+    /**
+     * Wraps the task so its wait and run times are recorded.
+     */
+    Runnable timed(Runnable task) {
+        var submitted = System.nanoTime();
+        return () -> {
+            var start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                record(start - submitted, System.nanoTime() - start);
+            }
+        };
+    }
+
+    void record(long wait, long run) {
+        waitNanos.add(wait);
+        runNanos.add(run);
+        completed.increment();
+    }
+
+    long getCompleted() {
+        return completed.sum();
+    }
+
+    long getAverageWaitNanos() {
+        var count = completed.sum();
+        return count == 0 ? 0 : waitNanos.sum() / count;
+    }
+
+    long getAverageRunNanos() {
+        var count = completed.sum();
+        return count == 0 ? 0 : runNanos.sum() / count;
+    }
+}
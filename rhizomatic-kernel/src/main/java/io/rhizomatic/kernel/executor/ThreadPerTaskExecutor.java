@@ -0,0 +1,139 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.executor.ExecutorMetrics;
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs each task in a new thread, which is a virtual thread if supported by the runtime. If a concurrency limit is set, tasks beyond the limit wait in their threads for a
+ * permit, which is inexpensive for virtual threads; these tasks are reported as queued.
+ */
+class ThreadPerTaskExecutor extends AbstractExecutorService implements MeteredExecutor {
+    private String name;
+    private Semaphore permits;
+    private TaskMetrics metrics = new TaskMetrics();
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition terminated = lock.newCondition();
+    private Set<Thread> threads = ConcurrentHashMap.newKeySet();  // modified under the lock so a thread is not added after termination
+    private AtomicInteger running = new AtomicInteger();
+    private AtomicInteger sequence = new AtomicInteger();
+    private volatile boolean shutdown;  // set under the lock
+
+    /**
+     * Constructor.
+     *
+     * @param name the executor name
+     * @param maxConcurrency the maximum number of tasks that run concurrently or 0 for no limit
+     */
+    ThreadPerTaskExecutor(String name, int maxConcurrency) {
+        this.name = name;
+        this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    }
+
+    public void execute(Runnable command) {
+        var task = metrics.timed(command);
+        var thread = VirtualThreads.newThread("rz-" + name + "-" + sequence.incrementAndGet(), true, () -> {
+            try {
+                if (permits != null) {
+                    permits.acquire();
+                }
+                try {
+                    running.incrementAndGet();
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    if (permits != null) {
+                        permits.release();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                terminated(Thread.currentThread());
+            }
+        });
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor is shut down: " + name);
+            }
+            threads.add(thread);
+        } finally {
+            lock.unlock();
+        }
+        thread.start();
+    }
+
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (threads.isEmpty()) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        threads.forEach(Thread::interrupt);
+        return new ArrayList<>();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public boolean isTerminated() {
+        return shutdown && threads.isEmpty();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        var remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!isTerminated()) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = terminated.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ExecutorMetrics getMetrics() {
+        var active = running.get();
+        var queued = Math.max(0, threads.size() - active);
+        return new ExecutorMetrics(name, active, queued, metrics.getCompleted(), metrics.getAverageWaitNanos(), metrics.getAverageRunNanos());
+    }
+
+    private void terminated(Thread thread) {
+        lock.lock();
+        try {
+            threads.remove(thread);
+            if (shutdown && threads.isEmpty()) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -28,7 +28,7 @@ public class RzReloaderImpl implements RzReloader {
         if (index.getServiceBindings().isEmpty()) {
             return;  // the class is not a service, ignore
         }
-        instanceManager.wire(index);
+        instanceManager.extend(index);
         var instance = instanceManager.resolve(clazz);
         listeners.forEach(l -> l.onInstanceAdded(instance));
     }
@@ -0,0 +1,166 @@
+package io.rhizomatic.kernel.schedule;
+
+import io.rhizomatic.api.Monitor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timer wheel driven by a single thread. Timeouts are hashed into buckets by deadline; each tick the thread expires the timeouts in one bucket, so scheduling and
+ * expiry are O(1) regardless of the number of pending timeouts. Timeouts fire with tick granularity and never early.
+ * <p>
+ * Tasks run on the timer thread and must return quickly, typically by dispatching work to an executor. Errors thrown by tasks are reported to the monitor.
+ */
+public class HashedTimerWheel {
+    private final long tickNanos;
+    private final List<ArrayDeque<Timeout>> wheel;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final Monitor monitor;
+
+    private volatile long startTime;
+    private volatile boolean running;
+    private long tick;   // accessed only by the timer thread
+
+    /**
+     * Constructor.
+     *
+     * @param name the timer thread name
+     * @param tick the tick duration
+     * @param unit the tick duration unit
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     * @param monitor the monitor errors thrown by tasks are reported to
+     */
+    public HashedTimerWheel(String name, long tick, TimeUnit unit, int wheelSize, Monitor monitor) {
+        if (tick <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be greater than zero");
+        }
+        tickNanos = unit.toNanos(tick);
+        var size = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        wheel = new ArrayList<>(size);
+        for (var i = 0; i < size; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        mask = size - 1;
+        this.monitor = monitor;
+        thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        startTime = System.nanoTime();
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stops the timer. Pending timeouts do not fire.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 10 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schedules a task to run after the delay.
+     *
+     * @param task the task, which runs on the timer thread
+     * @param delay the delay
+     * @param unit the delay unit
+     * @return a handle that can be used to cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer is not running");
+        }
+        var deadline = System.nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        var timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (running) {
+            var deadline = tickNanos * (tick + 1);
+            var sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue;  // re-check the deadline; park may return early
+            }
+            transferPending();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            var ticks = Math.max((timeout.deadline + tickNanos - 1) / tickNanos - 1, tick);  // fire on the first tick ending at or after the deadline
+            timeout.rounds = (ticks - tick) / wheel.size();
+            wheel.get((int) (ticks & mask)).add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        // timeouts due in later rounds are re-added at the tail; timeouts scheduled by tasks are added to the pending queue, so the bucket size is fixed
+        for (var i = bucket.size(); i > 0; i--) {
+            var timeout = bucket.poll();
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                bucket.add(timeout);
+                continue;
+            }
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                monitor.severe(() -> "Error running timer task on " + thread.getName(), e);  // keep the timer running
+            }
+        }
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long rounds;   // accessed only by the timer thread
+        private volatile boolean cancelled;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the timeout if it has not fired.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
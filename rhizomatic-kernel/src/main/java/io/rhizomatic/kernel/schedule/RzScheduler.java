@@ -0,0 +1,109 @@
+package io.rhizomatic.kernel.schedule;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Scheduled;
+import io.rhizomatic.api.executor.ExecutorProvider;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@link Scheduled} service methods. All schedules share a single {@link HashedTimerWheel}, which dispatches executions to a managed executor. Missed executions and
+ * overruns are periodically reported to the monitor.
+ */
+public class RzScheduler {
+    public static final String EXECUTOR = "scheduler";
+
+    private Monitor monitor;
+    private HashedTimerWheel timer;
+    private ExecutorProvider executorProvider;
+    private long reportIntervalMillis;
+
+    private List<ScheduledMethod> methods = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param executorProvider provides the executor scheduled methods run on
+     * @param tickMillis the timer resolution
+     * @param reportIntervalMillis the interval at which missed executions and overruns are reported
+     * @param monitor the monitor
+     */
+    public RzScheduler(ExecutorProvider executorProvider, long tickMillis, long reportIntervalMillis, Monitor monitor) {
+        this.executorProvider = executorProvider;
+        this.reportIntervalMillis = reportIntervalMillis;
+        this.monitor = monitor;
+        timer = new HashedTimerWheel("rz-timer", tickMillis, TimeUnit.MILLISECONDS, 512, monitor);
+    }
+
+    /**
+     * Starts executing the scheduled methods.
+     *
+     * @param scheduledMethods the scheduled methods keyed by service type
+     * @param instanceManager resolves service instances
+     */
+    public synchronized void start(Map<Class<?>, List<Method>> scheduledMethods, InstanceManager instanceManager) {
+        if (scheduledMethods.isEmpty()) {
+            return;
+        }
+        var executor = executorProvider.getExecutor(EXECUTOR);
+        for (var entry : scheduledMethods.entrySet()) {
+            var instance = instanceManager.resolve(entry.getKey());
+            for (var method : entry.getValue()) {
+                var scheduled = method.getAnnotation(Scheduled.class);
+                validate(method, scheduled);
+                methods.add(new ScheduledMethod(instance, method, scheduled, timer, executor, monitor));
+            }
+        }
+        timer.start();
+        methods.forEach(ScheduledMethod::start);
+        if (reportIntervalMillis > 0) {
+            timer.schedule(this::report, reportIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        monitor.debug(() -> "Scheduled " + methods.size() + " method(s)");
+    }
+
+    /**
+     * Cancels scheduled methods. Running executions complete on the executor.
+     */
+    public synchronized void stop() {
+        methods.forEach(ScheduledMethod::cancel);
+        timer.stop();
+        reportStatistics();
+        methods.clear();
+    }
+
+    private void report() {
+        reportStatistics();
+        try {
+            timer.schedule(this::report, reportIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // the timer was stopped
+        }
+    }
+
+    private void reportStatistics() {
+        for (var method : methods) {
+            var summary = method.report();
+            if (summary != null) {
+                monitor.info(() -> "Scheduled method " + summary);
+            }
+        }
+    }
+
+    private void validate(Method method, Scheduled scheduled) {
+        var name = method.getDeclaringClass().getName() + "." + method.getName();
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+            throw new RhizomaticException("Scheduled methods must be instance methods without parameters: " + name);
+        }
+        if ((scheduled.fixedRate() > 0) == (scheduled.fixedDelay() > 0)) {
+            throw new RhizomaticException("Exactly one of fixedRate or fixedDelay must be set on scheduled method: " + name);
+        }
+    }
+}
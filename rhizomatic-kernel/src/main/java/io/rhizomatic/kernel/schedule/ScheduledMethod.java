@@ -0,0 +1,144 @@
+package io.rhizomatic.kernel.schedule;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Scheduled;
+
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes a {@link Scheduled} method. The timer dispatches each execution to an executor; executions do not overlap.
+ */
+class ScheduledMethod {
+    private final Object instance;
+    private final Method method;
+    private final boolean fixedRate;
+    private final long periodNanos;
+    private final long initialDelayNanos;
+    private final HashedTimerWheel timer;
+    private final Executor executor;
+    private final Monitor monitor;
+
+    private final AtomicBoolean executing = new AtomicBoolean();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+
+    private long nextFire;                 // fixed-rate only, accessed by the timer thread
+    private volatile HashedTimerWheel.Timeout timeout;
+    private volatile boolean cancelled;
+
+    private long reportedMissed;
+    private long reportedOverruns;
+
+    ScheduledMethod(Object instance, Method method, Scheduled scheduled, HashedTimerWheel timer, Executor executor, Monitor monitor) {
+        this.instance = instance;
+        this.method = method;
+        this.fixedRate = scheduled.fixedRate() > 0;
+        this.periodNanos = scheduled.unit().toNanos(fixedRate ? scheduled.fixedRate() : scheduled.fixedDelay());
+        this.initialDelayNanos = scheduled.unit().toNanos(Math.max(0, scheduled.initialDelay()));
+        this.timer = timer;
+        this.executor = executor;
+        this.monitor = monitor;
+        try {
+            method.setAccessible(true);  // service packages in layers are opened to the kernel but not exported
+        } catch (InaccessibleObjectException e) {
+            throw new RhizomaticException("Scheduled method is not accessible. Ensure its package is open to io.rhizomatic.kernel: " + getName(), e);
+        }
+    }
+
+    void start() {
+        nextFire = System.nanoTime() + initialDelayNanos;
+        timeout = timer.schedule(this::fire, initialDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void cancel() {
+        cancelled = true;
+        var current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    String getName() {
+        return method.getDeclaringClass().getName() + "." + method.getName();
+    }
+
+    /**
+     * Returns a summary of missed executions and overruns since the last report, or null if there are none.
+     */
+    String report() {
+        var currentMissed = missed.get();
+        var currentOverruns = overruns.get();
+        if (currentMissed == reportedMissed && currentOverruns == reportedOverruns) {
+            return null;
+        }
+        var summary = getName() + ": " + (currentMissed - reportedMissed) + " missed, " + (currentOverruns - reportedOverruns) + " overrun(s), " + executions.get()
+                      + " total executions";
+        reportedMissed = currentMissed;
+        reportedOverruns = currentOverruns;
+        return summary;
+    }
+
+    /**
+     * Invoked on the timer thread when an execution is due.
+     */
+    private void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (fixedRate) {
+            // schedule the next execution from the intended time so the rate does not drift; periods that already elapsed were missed
+            var now = System.nanoTime();
+            nextFire += periodNanos;
+            if (nextFire <= now) {
+                var skipped = (now - nextFire) / periodNanos + 1;
+                missed.addAndGet(skipped);
+                nextFire += skipped * periodNanos;
+            }
+            timeout = timer.schedule(this::fire, nextFire - now, TimeUnit.NANOSECONDS);
+            if (!executing.compareAndSet(false, true)) {
+                overruns.incrementAndGet();  // the previous execution is still running
+                return;
+            }
+        } else {
+            executing.set(true);
+        }
+        try {
+            executor.execute(this::execute);
+        } catch (RejectedExecutionException e) {
+            executing.set(false);
+            missed.incrementAndGet();
+            if (!fixedRate && !cancelled) {
+                timeout = timer.schedule(this::fire, periodNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void execute() {
+        try {
+            method.invoke(instance);
+        } catch (InvocationTargetException e) {
+            monitor.severe(() -> "Error executing scheduled method " + getName(), e.getCause());
+        } catch (IllegalAccessException | RuntimeException e) {
+            monitor.severe(() -> "Error executing scheduled method " + getName(), e);
+        } finally {
+            executions.incrementAndGet();
+            executing.set(false);
+            if (!fixedRate && !cancelled) {
+                try {
+                    timeout = timer.schedule(this::fire, periodNanos, TimeUnit.NANOSECONDS);
+                } catch (IllegalStateException e) {
+                    // the timer was stopped
+                }
+            }
+        }
+    }
+}
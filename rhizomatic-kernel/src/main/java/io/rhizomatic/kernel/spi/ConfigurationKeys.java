@@ -16,5 +16,35 @@ public interface ConfigurationKeys {
 
     String MONITOR_JSON_LOWER = "monitor.json";
 
+    /**
+     * Selects the injection subsystem when more than one is installed: {@code guice} or {@code generated}.
+     */
+    String INJECTION_MODE = "injection.mode";
+
+    /**
+     * The time in milliseconds managed executors are given to complete tasks when the system shuts down.
+     */
+    String EXECUTOR_SHUTDOWN_TIMEOUT = "executor.shutdown.timeout";
+
+    /**
+     * The resolution in milliseconds of the timer that drives scheduled methods.
+     */
+    String SCHEDULER_TICK = "scheduler.tick";
+
+    /**
+     * The interval in milliseconds at which missed and overrun scheduled executions are reported. Set to 0 to only report at shutdown.
+     */
+    String SCHEDULER_REPORT_INTERVAL = "scheduler.report.interval";
+
+    /**
+     * The maximum number of bytes of off-heap memory allocated by the byte cache.
+     */
+    String OFFHEAP_CACHE_BUDGET = "cache.offheap.budget";
+
+    /**
+     * The size in bytes of the direct buffers the byte cache allocates payloads from.
+     */
+    String OFFHEAP_CACHE_SLAB = "cache.offheap.slab";
+
 
 }
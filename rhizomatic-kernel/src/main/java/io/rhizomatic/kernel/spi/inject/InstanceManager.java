@@ -1,5 +1,6 @@
 package io.rhizomatic.kernel.spi.inject;
 
+import io.rhizomatic.api.annotations.Multiplicity;
 import io.rhizomatic.kernel.spi.scan.ScanIndex;
 import org.jetbrains.annotations.Nullable;
 
@@ -25,6 +26,15 @@ public interface InstanceManager {
      */
     void wire(ScanIndex scanIndex);
 
+    /**
+     * Wires instances specified in the index in addition to those already wired. Existing instances are retained, so the cost is proportional to the size of the index.
+     * Implementations that cannot bind the additions incrementally, for example when they contribute to a multiplicity, wire all instances again. If instances have not
+     * been wired, this operation is equivalent to {@link #wire(ScanIndex)}.
+     *
+     * @param scanIndex the index containing the additional instances
+     */
+    void extend(ScanIndex scanIndex);
+
     /**
      * Starts eager instances.
      */
@@ -38,14 +48,15 @@ public interface InstanceManager {
     @Nullable <T> T resolve(Class<T> type);
 
     /**
-     * Resolves all instances bound to the type.
+     * Resolves all instances bound to the type. Returns an empty set if the type is a {@link Multiplicity} and no instances are bound.
      *
      * @param type the type
      */
     <T> Set<T> resolveAll(Class<T> type);
 
     /**
-     * Resolves all types associated with the qualifier.
+     * Resolves all types associated with the qualifier. The returned set is immutable and is only recalculated when instances are re-wired, so it may be used on
+     * request paths.
      *
      * @param qualifier the qualifier, such as an annotation type. Note the resolved instances may not implement the qualifier type, e.g. if the qualifier is an annotation.
      */
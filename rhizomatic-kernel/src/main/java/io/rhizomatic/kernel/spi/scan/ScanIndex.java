@@ -3,6 +3,7 @@ package io.rhizomatic.kernel.spi.scan;
 import io.rhizomatic.api.annotations.Service;
 import io.rhizomatic.kernel.spi.layer.LoadedLayer;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -31,6 +32,8 @@ public class ScanIndex {
     private Map<Class<?>, Set<Class<?>>> serviceQualifiers = new HashMap<>();  // service to qualifiers
     private Map<Class<?>, Set<Class<?>>> qualifiedServices = new HashMap<>();  // qualifiers to service
     private Map<Class<?>, Method> initCallbacks = new HashMap<>();
+    private Map<Class<?>, List<Field>> lazyInjections = new HashMap<>();
+    private Map<Class<?>, List<Method>> scheduledMethods = new HashMap<>();
 
     private List<Problem> problems = new ArrayList<>();
 
@@ -54,6 +57,14 @@ public class ScanIndex {
         return initCallbacks;
     }
 
+    public Map<Class<?>, List<Field>> getLazyInjections() {
+        return lazyInjections;
+    }
+
+    public Map<Class<?>, List<Method>> getScheduledMethods() {
+        return scheduledMethods;
+    }
+
     public List<Problem> getProblems() {
         return problems;
     }
@@ -131,11 +142,54 @@ public class ScanIndex {
             return this;
         }
 
+        public Builder lazyInjection(Class<?> service, Field field) {
+            index.lazyInjections.computeIfAbsent(service, (k) -> new ArrayList<>()).add(field);
+            return this;
+        }
+
+        public Builder scheduled(Class<?> service, Method method) {
+            index.scheduledMethods.computeIfAbsent(service, (k) -> new ArrayList<>()).add(method);
+            return this;
+        }
+
         public Builder problem(Problem problem) {
             index.problems.add(problem);
             return this;
         }
 
+        /**
+         * Adds the contents of another index. Services, layers, and injection metadata already contained in the index being built are not duplicated.
+         *
+         * @param other the index
+         */
+        public Builder merge(ScanIndex other) {
+            for (var loadedLayer : other.loadedLayers) {
+                if (!index.loadedLayers.contains(loadedLayer)) {
+                    index.loadedLayers.add(loadedLayer);
+                }
+            }
+            for (var entry : other.bindingToServices.entrySet()) {
+                addAbsent(index.bindingToServices.computeIfAbsent(entry.getKey(), (k) -> new ArrayList<>()), entry.getValue());
+                seenServices.addAll(entry.getValue());
+            }
+            index.eagerServices.addAll(other.eagerServices);
+            for (var entry : other.qualifiedServices.entrySet()) {
+                index.qualifiedServices.computeIfAbsent(entry.getKey(), (k) -> new HashSet<>()).addAll(entry.getValue());
+            }
+            for (var entry : other.serviceQualifiers.entrySet()) {
+                index.serviceQualifiers.computeIfAbsent(entry.getKey(), (k) -> new HashSet<>()).addAll(entry.getValue());
+            }
+            index.initCallbacks.putAll(other.initCallbacks);
+            for (var entry : other.lazyInjections.entrySet()) {
+                addAbsent(index.lazyInjections.computeIfAbsent(entry.getKey(), (k) -> new ArrayList<>()), entry.getValue());
+            }
+            for (var entry : other.scheduledMethods.entrySet()) {
+                addAbsent(index.scheduledMethods.computeIfAbsent(entry.getKey(), (k) -> new ArrayList<>()), entry.getValue());
+            }
+            index.problems.addAll(other.problems);
+            return this;
+        }
+
         public ScanIndex build() {
             for (var entry : index.bindingToServices.entrySet()) {
                 if (entry.getValue().size() < 2) {
@@ -158,5 +212,13 @@ public class ScanIndex {
             index = new ScanIndex();
         }
 
+        private static <T> void addAbsent(List<T> target, List<T> source) {
+            for (var element : source) {
+                if (!target.contains(element)) {
+                    target.add(element);
+                }
+            }
+        }
+
     }
 }
@@ -0,0 +1,53 @@
+package io.rhizomatic.kernel.spi.util;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+
+/**
+ * Reads numeric configuration values. Values may be configured as any {@link Number} type or as a string.
+ */
+public class ConfigurationHelper {
+
+    /**
+     * Returns the configuration value as an int or the default value if it is not configured.
+     *
+     * @param context the subsystem context
+     * @param key the key
+     * @param defaultValue the default value
+     * @throws RhizomaticException if the value is not a number
+     */
+    public static int getInt(SubsystemContext context, String key, int defaultValue) {
+        var value = context.getConfiguration(Object.class, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Returns the configuration value as a long or the default value if it is not configured.
+     *
+     * @param context the subsystem context
+     * @param key the key
+     * @param defaultValue the default value
+     * @throws RhizomaticException if the value is not a number
+     */
+    public static long getLong(SubsystemContext context, String key, long defaultValue) {
+        var value = context.getConfiguration(Object.class, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + value);
+        }
+    }
+
+    private ConfigurationHelper() {
+    }
+}
@@ -0,0 +1,91 @@
+package io.rhizomatic.kernel.spi.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Creates virtual threads when the runtime supports them (Java 21+). Since the system targets Java 11, virtual threads are created reflectively; on older runtimes platform
+ * daemon threads are created instead.
+ */
+public class VirtualThreads {
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle UNSTARTED;
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle unstarted = null;
+        MethodHandle isVirtual = null;
+        try {
+            var lookup = MethodHandles.publicLookup();
+            var builderType = Class.forName("java.lang.Thread$Builder");
+            var virtualType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualType));
+            name = lookup.findVirtual(builderType, "name", MethodType.methodType(builderType, String.class));
+            unstarted = lookup.findVirtual(builderType, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            var probe = (Thread) unstarted.invoke(ofVirtual.invoke(), (Runnable) () -> {
+            });
+            if (probe == null) {
+                ofVirtual = null;
+            }
+        } catch (Throwable e) {
+            ofVirtual = null;   // not supported or preview features not enabled
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+        IS_VIRTUAL = ofVirtual != null ? isVirtual : null;
+    }
+
+    /**
+     * Returns true if the runtime supports virtual threads.
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns true if the thread is a virtual thread.
+     *
+     * @param thread the thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns an unstarted thread. If virtual is true and the runtime supports virtual threads, a virtual thread is returned; otherwise a platform daemon thread is
+     * returned.
+     *
+     * @param name the thread name
+     * @param virtual true if a virtual thread should be created when supported
+     * @param runnable the thread task
+     */
+    public static Thread newThread(String name, boolean virtual, Runnable runnable) {
+        if (virtual && OF_VIRTUAL != null) {
+            try {
+                var builder = NAME.invoke(OF_VIRTUAL.invoke(), name);
+                return (Thread) UNSTARTED.invoke(builder, runnable);
+            } catch (Throwable e) {
+                // fall through and create a platform thread
+            }
+        }
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private VirtualThreads() {
+    }
+}
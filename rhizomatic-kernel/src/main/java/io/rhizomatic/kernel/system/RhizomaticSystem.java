@@ -3,13 +3,20 @@ package io.rhizomatic.kernel.system;
 import io.rhizomatic.api.Monitor;
 import io.rhizomatic.api.RhizomaticException;
 import io.rhizomatic.api.ServiceContext;
+import io.rhizomatic.api.batch.BatchLoaderFactory;
+import io.rhizomatic.api.cache.ByteCache;
+import io.rhizomatic.api.executor.ExecutorProvider;
 import io.rhizomatic.api.layer.RzLayer;
 import io.rhizomatic.api.web.WebApp;
+import io.rhizomatic.kernel.batch.RzBatchLoaderFactory;
+import io.rhizomatic.kernel.cache.RzByteCache;
+import io.rhizomatic.kernel.executor.RzExecutorProvider;
 import io.rhizomatic.kernel.layer.LayerManager;
 import io.rhizomatic.kernel.layer.LayerSubsystem;
 import io.rhizomatic.kernel.reload.ReloaderSubsystem;
 import io.rhizomatic.kernel.scan.ClassScanner;
 import io.rhizomatic.kernel.scan.ScannerSubsystem;
+import io.rhizomatic.kernel.schedule.RzScheduler;
 import io.rhizomatic.kernel.spi.inject.InstanceManager;
 import io.rhizomatic.kernel.spi.layer.LoadedLayer;
 import io.rhizomatic.kernel.spi.scan.ScanIndex;
@@ -21,15 +28,21 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 
 import static io.rhizomatic.kernel.spi.ConfigurationKeys.ENVIRONMENT;
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.EXECUTOR_SHUTDOWN_TIMEOUT;
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.OFFHEAP_CACHE_BUDGET;
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.OFFHEAP_CACHE_SLAB;
 import static io.rhizomatic.kernel.spi.ConfigurationKeys.RUNTIME;
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.SCHEDULER_REPORT_INTERVAL;
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.SCHEDULER_TICK;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toCollection;
 
 /**
  * Manages a Rhizomatic system.
@@ -40,6 +53,16 @@ public class RhizomaticSystem implements SubsystemContext {
 
     private RzServiceContext serviceContext;
 
+    private RzExecutorProvider executorProvider;
+
+    private RzScheduler scheduler;
+
+    private RzByteCache byteCache;
+
+    private RzBatchLoaderFactory batchLoaderFactory;
+
+    private ScanIndex scanIndex;
+
     private Map<Class<?>, List<Object>> systemServices = new HashMap<>();
 
     private List<LoadedLayer> loadedLayers = Collections.emptyList();
@@ -56,6 +79,12 @@ public class RhizomaticSystem implements SubsystemContext {
         this.monitor = monitor;
         systemServices.put(Monitor.class, List.of(monitor));
         this.configuration = configuration;
+        executorProvider = new RzExecutorProvider(configuration::get, monitor);
+        systemServices.put(ExecutorProvider.class, List.of(executorProvider));
+        byteCache = new RzByteCache(getLong(OFFHEAP_CACHE_BUDGET, RzByteCache.DEFAULT_BUDGET), (int) getLong(OFFHEAP_CACHE_SLAB, RzByteCache.DEFAULT_SLAB_SIZE));
+        systemServices.put(ByteCache.class, List.of(byteCache));
+        batchLoaderFactory = new RzBatchLoaderFactory(executorProvider, configuration::get);
+        systemServices.put(BatchLoaderFactory.class, List.of(batchLoaderFactory));
     }
 
     public void startSubsystems() {
@@ -75,19 +104,26 @@ public class RhizomaticSystem implements SubsystemContext {
     public void instantiateLayers(List<RzLayer> layers) {
         var layerManager = resolve(LayerManager.class);
 
-        var openToModules = subsystems.stream().flatMap(s -> s.openModulesTo().stream()).collect(toSet());
+        var openToModules = subsystems.stream().flatMap(s -> s.openModulesTo().stream()).collect(toCollection(HashSet::new));
+        var kernelModule = getClass().getModule();
+        if (kernelModule.isNamed()) {
+            openToModules.add(kernelModule.getName());  // the scheduler invokes service methods reflectively
+        }
 
         loadedLayers = layerManager.load(layers, openToModules);
 
-        var scanIndex = scan(loadedLayers);
+        scanIndex = scan(loadedLayers);
 
         var instanceManager = resolve(InstanceManager.class);
 
         instanceManager.register(Monitor.class, monitor);
 
         //TODO populate context from configuration
-        serviceContext = new RzServiceContext((String) configuration.get(RUNTIME), (String) configuration.get(ENVIRONMENT));
+        serviceContext = new RzServiceContext((String) configuration.get(RUNTIME), (String) configuration.get(ENVIRONMENT), executorProvider);
         instanceManager.register(ServiceContext.class, serviceContext);
+        instanceManager.register(ExecutorProvider.class, executorProvider);
+        instanceManager.register(ByteCache.class, byteCache);
+        instanceManager.register(BatchLoaderFactory.class, batchLoaderFactory);
 
         instanceManager.wire(scanIndex);
     }
@@ -95,7 +131,7 @@ public class RhizomaticSystem implements SubsystemContext {
     public void instantiateClasspath(Set<Class<?>> classes, Set<Object> instances) {
         var classScanner = resolve(ClassScanner.class);
 
-        var scanIndex = classScanner.scan(classes);
+        scanIndex = classScanner.scan(classes);
 
         var instanceManager = resolve(InstanceManager.class);
 
@@ -109,8 +145,11 @@ public class RhizomaticSystem implements SubsystemContext {
         });
 
         //TODO populate context from configuration
-        var serviceContext = new RzServiceContext((String) configuration.get(RUNTIME), (String) configuration.get(ENVIRONMENT));
+        serviceContext = new RzServiceContext((String) configuration.get(RUNTIME), (String) configuration.get(ENVIRONMENT), executorProvider);
         instanceManager.register(ServiceContext.class, serviceContext);
+        instanceManager.register(ExecutorProvider.class, executorProvider);
+        instanceManager.register(ByteCache.class, byteCache);
+        instanceManager.register(BatchLoaderFactory.class, batchLoaderFactory);
 
         instanceManager.wire(scanIndex);
     }
@@ -123,14 +162,20 @@ public class RhizomaticSystem implements SubsystemContext {
         subsystems.forEach(subsystem -> subsystem.applicationInitialize(this));
         subsystems.forEach(subsystem -> subsystem.start(this));
         serviceContext.bootComplete();
+        startScheduler();
     }
 
     public void shutdown() {
+        if (scheduler != null) {
+            scheduler.stop();
+        }
         var iterator = subsystems.listIterator(subsystems.size());
         while (iterator.hasPrevious()) {
             iterator.previous().shutdown();
         }
         serviceContext.shutdownComplete();
+        executorProvider.shutdown(getLong(EXECUTOR_SHUTDOWN_TIMEOUT, 5000));
+        byteCache.invalidateAll();
     }
 
     public Monitor getMonitor() {
@@ -169,6 +214,22 @@ public class RhizomaticSystem implements SubsystemContext {
         return type.cast(configuration.get(key));
     }
 
+    /**
+     * Starts executing scheduled service methods.
+     */
+    private void startScheduler() {
+        if (scanIndex == null || scanIndex.getScheduledMethods().isEmpty()) {
+            return;
+        }
+        scheduler = new RzScheduler(executorProvider, getLong(SCHEDULER_TICK, 10), getLong(SCHEDULER_REPORT_INTERVAL, 60000), monitor);
+        scheduler.start(scanIndex.getScheduledMethods(), resolve(InstanceManager.class));
+    }
+
+    private long getLong(String key, long defaultValue) {
+        var value = configuration.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : defaultValue;
+    }
+
     /**
      * Scans all loaded layers for services.
      */
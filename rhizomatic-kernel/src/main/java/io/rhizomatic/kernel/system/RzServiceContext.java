@@ -1,6 +1,7 @@
 package io.rhizomatic.kernel.system;
 
 import io.rhizomatic.api.ServiceContext;
+import io.rhizomatic.api.executor.ExecutorProvider;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,13 +12,15 @@ import java.util.List;
 public class RzServiceContext implements ServiceContext {
     private String runtimeName;
     private String environment;
+    private ExecutorProvider executorProvider;
 
     private List<Runnable> bootCallbacks = new ArrayList<>();
     private List<Runnable> shutdownCallbacks = new ArrayList<>();
 
-    public RzServiceContext(String runtimeName, String environment) {
+    public RzServiceContext(String runtimeName, String environment, ExecutorProvider executorProvider) {
         this.runtimeName = runtimeName;
         this.environment = environment;
+        this.executorProvider = executorProvider;
     }
 
     public String getRuntimeName() {
@@ -36,6 +39,10 @@ public class RzServiceContext implements ServiceContext {
         shutdownCallbacks.add(runnable);
     }
 
+    public ExecutorProvider getExecutorProvider() {
+        return executorProvider;
+    }
+
     public void bootComplete() {
         bootCallbacks.forEach(Runnable::run);
     }
@@ -0,0 +1,129 @@
+package io.rhizomatic.kernel.batch;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.batch.BatchStatistics;
+import io.rhizomatic.kernel.executor.RzExecutorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ *
+ */
+public class RzBatchLoaderFactoryTest {
+    private RzExecutorProvider executorProvider;
+    private RzBatchLoaderFactory factory;
+    private List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void verifyLoadsAreBatchedAndDeduplicated() throws Exception {
+        var loader = factory.create("test", 100, 50, this::lookup);
+        var futures = new ArrayList<CompletableFuture<String>>();
+        for (var i = 0; i < 10; i++) {
+            futures.add(loader.load(i % 5));
+        }
+        for (var i = 0; i < 10; i++) {
+            Assertions.assertEquals("value-" + (i % 5), futures.get(i).get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, batches.size());
+        Assertions.assertEquals(Set.of(0, 1, 2, 3, 4), batches.get(0));
+
+        var statistics = loader.getStatistics();
+        Assertions.assertEquals(10, statistics.getLoadCount());
+        Assertions.assertEquals(1, statistics.getBatchCount());
+        Assertions.assertEquals(5, statistics.getKeyCount());
+        Assertions.assertEquals(5, statistics.getDeduplicatedCount());
+    }
+
+    @Test
+    public void verifyMaximumBatchSize() throws Exception {
+        var loader = factory.create("test", 3, 10_000, this::lookup);
+        var values = loader.loadAll(List.of(1, 2, 3, 4, 5, 6, 7)).thenApply(HashMap::new);
+        loader.dispatch();  // the last key would otherwise wait for the delay
+        Assertions.assertEquals(7, values.get(10, TimeUnit.SECONDS).size());
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(3, batches.get(0).size());
+    }
+
+    @Test
+    public void verifyCachingScope() throws Exception {
+        var loader = factory.create("test", 100, 1, this::lookup);
+        var scope = loader.newCachingScope();
+        Assertions.assertEquals("value-1", scope.load(1).get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals("value-1", scope.load(1).get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, batches.size());
+
+        Assertions.assertEquals("value-1", loader.newCachingScope().load(1).get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void verifyErrorsCompleteBatch() {
+        var loader = factory.<Integer, String>create("test", 100, 1, keys -> {
+            throw new IllegalStateException();
+        });
+        var future = loader.load(1);
+        var e = Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(1, loader.getStatistics().getErrorCount());
+    }
+
+    @Test
+    public void verifyRejectedTimerFailsBatch() {
+        var loader = factory.create("test", 100, 10_000, this::lookup);
+        executorProvider.getScheduledExecutor(RzBatchLoaderFactory.TIMER).shutdown();
+
+        var future = loader.load(1);
+        var e = Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        Assertions.assertEquals(1, loader.getStatistics().getErrorCount());
+        Assertions.assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void verifyUnusedLoadersAreNotRetained() throws Exception {
+        var retained = factory.create("retained", this::lookup);
+        factory.create("unused", this::lookup);
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (factory.getStatistics().size() > 1 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(List.of("retained"), factory.getStatistics().stream().map(BatchStatistics::getName).collect(toList()));
+        Assertions.assertNotNull(retained);
+    }
+
+    @BeforeEach
+    void setUp() {
+        executorProvider = new RzExecutorProvider(key -> null, new Monitor() {
+        });
+        factory = new RzBatchLoaderFactory(executorProvider, key -> null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorProvider.shutdown(1000);
+    }
+
+    private Map<Integer, String> lookup(Set<Integer> keys) {
+        batches.add(Set.copyOf(keys));
+        var values = new HashMap<Integer, String>();
+        keys.forEach(key -> values.put(key, "value-" + key));
+        return values;
+    }
+}
@@ -0,0 +1,60 @@
+package io.rhizomatic.kernel.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ */
+public class RzByteCacheTest {
+
+    @Test
+    public void verifyPutAndGet() {
+        var cache = new RzByteCache(1024, 256);
+        var payload = ByteBuffer.wrap("payload".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(cache.put("a", payload));
+        Assertions.assertEquals(0, payload.position());
+
+        var view = cache.get("a");
+        Assertions.assertTrue(view.isReadOnly());
+        Assertions.assertEquals("payload", StandardCharsets.UTF_8.decode(view).toString());
+        Assertions.assertEquals("payload", StandardCharsets.UTF_8.decode(cache.get("a")).toString());  // each read is positioned independently
+        Assertions.assertNull(cache.get("b"));
+
+        cache.invalidate("a");
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertFalse(cache.put("large", ByteBuffer.allocate(2048)));
+    }
+
+    @Test
+    public void verifyEvictionWithinBudget() {
+        var cache = new RzByteCache(1024, 256);
+        Assertions.assertTrue(cache.put("hot", ByteBuffer.allocate(100)));
+        var held = cache.get("hot");
+        for (var i = 0; i < 100; i++) {
+            Assertions.assertTrue(cache.put("key" + i, ByteBuffer.wrap(new byte[]{(byte) i})));
+            cache.put("filler" + i, ByteBuffer.allocate(100));
+            cache.get("hot");
+            Assertions.assertTrue(cache.getAllocatedBytes() <= 1024);
+        }
+        Assertions.assertNotNull(cache.get("hot"));  // read entries are retained
+        Assertions.assertNull(cache.get("key0"));
+        Assertions.assertEquals(99, cache.get("key99").get());
+        Assertions.assertTrue(cache.getStatistics().getEvictionCount() > 0);
+        Assertions.assertEquals(100, held.remaining());  // buffers remain valid after the slab is released
+    }
+
+    @Test
+    public void verifyReplacedPayloadsRemainReadable() {
+        var cache = new RzByteCache(1024, 256);
+        cache.put("a", ByteBuffer.wrap(new byte[]{1}));
+        var first = cache.get("a");
+        cache.put("a", ByteBuffer.wrap(new byte[]{2}));
+        Assertions.assertEquals(1, first.get());
+        Assertions.assertEquals(2, cache.get("a").get());
+        Assertions.assertEquals(1, cache.getStatistics().getSize());
+    }
+}
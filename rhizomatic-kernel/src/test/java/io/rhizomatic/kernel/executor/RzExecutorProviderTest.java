@@ -0,0 +1,146 @@
+package io.rhizomatic.kernel.executor;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.RhizomaticException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *
+ */
+public class RzExecutorProviderTest {
+
+    @Test
+    public void verifyBoundedPool() throws Exception {
+        var configuration = Map.<String, Object>of("executor.work.threads", 1, "executor.work.queue", "1");
+        var provider = new RzExecutorProvider(configuration::get, new Monitor() {
+        });
+        var executor = provider.getExecutor("work");
+        Assertions.assertSame(executor, provider.getExecutor("work"));
+
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+        Assertions.assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+
+        var metrics = provider.getMetrics().get(0);
+        Assertions.assertEquals("work", metrics.getName());
+        Assertions.assertEquals(1, metrics.getActiveThreads());
+        Assertions.assertEquals(1, metrics.getQueueDepth());
+
+        release.countDown();
+        provider.shutdown(10_000);
+        Assertions.assertTrue(executor.isTerminated());
+        Assertions.assertEquals(2, provider.getMetrics().get(0).getCompletedTasks());
+        Assertions.assertThrows(IllegalStateException.class, () -> provider.getExecutor("other"));
+    }
+
+    @Test
+    public void verifyThreadPerTaskConcurrencyLimit() throws Exception {
+        var provider = new RzExecutorProvider(Map.<String, Object>of("executor.tasks.threads", 2)::get, new Monitor() {
+        });
+        var executor = provider.getThreadPerTaskExecutor("tasks");
+
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var latch = new CountDownLatch(20);
+        for (var i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(maxRunning.get() <= 2);
+
+        provider.shutdown(10_000);
+        Assertions.assertTrue(executor.isTerminated());
+        Assertions.assertEquals(20, provider.getMetrics().get(0).getCompletedTasks());
+    }
+
+    @Test
+    public void verifyThreadPerTaskShutdownDuringSubmit() throws Exception {
+        var provider = new RzExecutorProvider(Map.<String, Object>of()::get, new Monitor() {
+        });
+        var executor = provider.getThreadPerTaskExecutor("tasks");
+
+        var accepted = new AtomicInteger();
+        var completed = new AtomicInteger();
+        var submitters = new Thread[4];
+        for (var i = 0; i < submitters.length; i++) {
+            submitters[i] = new Thread(() -> {
+                try {
+                    while (true) {
+                        executor.execute(completed::incrementAndGet);
+                        accepted.incrementAndGet();
+                    }
+                } catch (RejectedExecutionException e) {
+                    // shut down
+                }
+            });
+            submitters[i].start();
+        }
+        while (accepted.get() < 100) {
+            Thread.onSpinWait();
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (var submitter : submitters) {
+            submitter.join(10_000);
+        }
+        Assertions.assertEquals(accepted.get(), completed.get());  // no task started after termination
+    }
+
+    @Test
+    public void verifyScheduledExecutor() throws Exception {
+        var provider = new RzExecutorProvider(Map.<String, Object>of()::get, new Monitor() {
+        });
+        var executor = provider.getScheduledExecutor("timer");
+        var latch = new CountDownLatch(3);
+        executor.scheduleAtFixedRate(latch::countDown, 0, 5, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        provider.shutdown(10_000);
+        Assertions.assertTrue(executor.isShutdown());
+        Assertions.assertTrue(provider.getMetrics().get(0).getCompletedTasks() >= 3);
+    }
+
+    @Test
+    public void verifyTypeConflict() {
+        var provider = new RzExecutorProvider(Map.<String, Object>of()::get, new Monitor() {
+        });
+        provider.getExecutor("work");
+        Assertions.assertThrows(RhizomaticException.class, () -> provider.getScheduledExecutor("work"));
+        provider.shutdown(10_000);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
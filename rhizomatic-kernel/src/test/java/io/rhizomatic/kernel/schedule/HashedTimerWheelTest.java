@@ -0,0 +1,85 @@
+package io.rhizomatic.kernel.schedule;
+
+import io.rhizomatic.api.Monitor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ *
+ */
+public class HashedTimerWheelTest {
+
+    @Test
+    public void verifyTimeoutsFireAfterDeadline() throws Exception {
+        // small wheel so timeouts span several rounds
+        var timer = new HashedTimerWheel("test-timer", 1, TimeUnit.MILLISECONDS, 8, new Monitor() {
+        });
+        timer.start();
+        try {
+            var count = 100;
+            var latch = new CountDownLatch(count);
+            var early = new AtomicBoolean();
+            for (var i = 0; i < count; i++) {
+                var delay = i % 25;
+                var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                timer.schedule(() -> {
+                    if (System.nanoTime() < deadline) {
+                        early.set(true);
+                    }
+                    latch.countDown();
+                }, delay, TimeUnit.MILLISECONDS);
+            }
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertFalse(early.get());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void verifyCancel() throws Exception {
+        var timer = new HashedTimerWheel("test-timer", 1, TimeUnit.MILLISECONDS, 8, new Monitor() {
+        });
+        timer.start();
+        try {
+            var fired = new AtomicBoolean();
+            var timeout = timer.schedule(() -> fired.set(true), 20, TimeUnit.MILLISECONDS);
+            timeout.cancel();
+            var latch = new CountDownLatch(1);
+            timer.schedule(latch::countDown, 40, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assertions.assertFalse(fired.get());
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void verifyTaskErrorsReported() throws Exception {
+        var reported = new CountDownLatch(1);
+        var timer = new HashedTimerWheel("test-timer", 1, TimeUnit.MILLISECONDS, 8, new Monitor() {
+            public void severe(Supplier<String> supplier, Throwable... errors) {
+                if (errors.length == 1 && "test".equals(errors[0].getMessage())) {
+                    reported.countDown();
+                }
+            }
+        });
+        timer.start();
+        try {
+            timer.schedule(() -> {
+                throw new IllegalStateException("test");
+            }, 5, TimeUnit.MILLISECONDS);
+            var latch = new CountDownLatch(1);
+            timer.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(reported.await(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));  // the timer keeps running
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.rhizomatic.kernel.schedule;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.api.annotations.Scheduled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.module.Configuration;
+import java.lang.module.ModuleFinder;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ *
+ */
+public class RzSchedulerTest {
+
+    /**
+     * Verifies scheduled methods of a service in a layer module that does not export or open its package. The module is compiled when the test runs; the compiler is
+     * accessed reflectively since it is not part of the module graph.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void verifyScheduledMethodInLayer() throws Exception {
+        var dir = Files.createTempDirectory("rz-layer");
+        var sources = dir.resolve("src");
+        Files.createDirectories(sources.resolve("test/jobs"));
+        Files.writeString(sources.resolve("module-info.java"), "module test.jobs { }");
+        Files.writeString(sources.resolve("test/jobs/Job.java"), "package test.jobs;\n"
+                                                                  + "public class Job implements java.util.function.Supplier<java.util.concurrent.CountDownLatch> {\n"
+                                                                  + "    private final java.util.concurrent.CountDownLatch latch = new java.util.concurrent.CountDownLatch(3);\n"
+                                                                  + "    public java.util.concurrent.CountDownLatch get() { return latch; }\n"
+                                                                  + "    public void run() { latch.countDown(); }\n"
+                                                                  + "}\n");
+        var classes = dir.resolve("classes");
+        var compiler = Class.forName("javax.tools.ToolProvider").getMethod("getSystemJavaCompiler").invoke(null);
+        Assumptions.assumeTrue(compiler != null, "Compiler not available");
+        var run = Class.forName("javax.tools.Tool").getMethod("run", InputStream.class, OutputStream.class, OutputStream.class, String[].class);
+        var arguments = new String[]{"-d", classes.toString(), sources.resolve("module-info.java").toString(), sources.resolve("test/jobs/Job.java").toString()};
+        Assertions.assertEquals(0, run.invoke(compiler, null, null, null, arguments));
+
+        var configuration = Configuration.resolve(ModuleFinder.of(classes), List.of(ModuleLayer.boot().configuration()), ModuleFinder.of(), Set.of("test.jobs"));
+        var controller = ModuleLayer.defineModulesWithOneLoader(configuration, List.of(ModuleLayer.boot()), getClass().getClassLoader());
+        var jobClass = controller.layer().findLoader("test.jobs").loadClass("test.jobs.Job");
+        var method = jobClass.getMethod("run");
+        var scheduled = TestService.class.getMethod("rate").getAnnotation(Scheduled.class);
+
+        var timer = new HashedTimerWheel("test-timer", 1, TimeUnit.MILLISECONDS, 64, new Monitor() {
+        });
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertThrows(RhizomaticException.class, () -> new ScheduledMethod(null, method, scheduled, timer, executor, new Monitor() {
+            }));
+
+            // the layer manager opens layer modules to the kernel
+            controller.addOpens(jobClass.getModule(), "test.jobs", ScheduledMethod.class.getModule());
+            var constructor = jobClass.getConstructor();
+            constructor.setAccessible(true);
+            var job = constructor.newInstance();
+            var failures = new AtomicInteger();
+            timer.start();
+            new ScheduledMethod(job, method, scheduled, timer, executor, new Monitor() {
+                public void severe(Supplier<String> supplier, Throwable... errors) {
+                    failures.incrementAndGet();
+                }
+            }).start();
+
+            Assertions.assertTrue(((Supplier<CountDownLatch>) job).get().await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, failures.get());
+        } finally {
+            timer.stop();
+            executor.shutdownNow();
+        }
+    }
+
+    public static class TestService {
+
+        @Scheduled(fixedRate = 5)
+        public void rate() {
+        }
+    }
+}
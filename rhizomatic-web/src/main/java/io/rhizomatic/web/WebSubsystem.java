@@ -1,7 +1,5 @@
 package io.rhizomatic.web;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import io.rhizomatic.api.Monitor;
 import io.rhizomatic.api.annotations.EndpointPath;
 import io.rhizomatic.kernel.spi.inject.InstanceManager;
@@ -11,13 +9,12 @@ import io.rhizomatic.kernel.spi.scan.Introspector;
 import io.rhizomatic.kernel.spi.subsystem.Subsystem;
 import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
 import io.rhizomatic.web.http.JettyTransport;
-import io.rhizomatic.web.http.RewriteHandler;
 import io.rhizomatic.web.jersey.RzInjectionManager;
 import io.rhizomatic.web.jersey.RzInjectionManagerFactory;
+import io.rhizomatic.web.jersey.RzJacksonProvider;
 import io.rhizomatic.web.scan.WebIntrospector;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.ContextHandler;
-import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
@@ -29,7 +26,6 @@ import org.glassfish.jersey.servlet.ServletContainer;
 import org.glassfish.jersey.servlet.internal.Utils;
 
 import java.io.IOException;
-import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -42,10 +38,7 @@ import javax.servlet.MultipartConfigElement;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.Path;
-import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Provider;
 
@@ -132,10 +125,12 @@ public class WebSubsystem extends Subsystem {
         for (var endpoint : endpoints) {
             var endpointPath = endpoint.getClass().getModule().getAnnotation(EndpointPath.class);
             var rootPath = endpointPath != null ? endpointPath.value() : "api";
-            var resourceConfig = resourceConfigs.computeIfAbsent(rootPath, k -> new ResourceConfig());
-
-            var jacksonJsonProvider = createJacksonProvider(instanceManager);
-            resourceConfig.registerInstances(jacksonJsonProvider);
+            var resourceConfig = resourceConfigs.computeIfAbsent(rootPath, k -> {
+                // a single Jackson provider per resource config caches the application ObjectMapper
+                var config = new ResourceConfig();
+                config.registerInstances(new RzJacksonProvider(() -> instanceManager.resolveQualifiedTypes(Provider.class)));
+                return config;
+            });
             resourceConfig.register(endpoint);
         }
         return resourceConfigs;
@@ -181,15 +176,9 @@ public class WebSubsystem extends Subsystem {
             var resources = new ResourceCollection(rootStrings);
 
             var contextPath = webApp.getContextPath();
-            var rewriteHandler = new RewriteHandler();
-
-            var resourceHandler = new ResourceHandler();
-            resourceHandler.setBaseResource(resources);
-
-            rewriteHandler.setHandler(resourceHandler);
 
             var ctx = new ContextHandler(contextPath); /* the server uri path */
-            ctx.setHandler(rewriteHandler);
+            ctx.setHandler(jettyTransport.createWebAppHandler(resources));
 
             jettyTransport.registerHandler(ctx);
 
@@ -197,35 +186,6 @@ public class WebSubsystem extends Subsystem {
         }
     }
 
-    /**
-     * Creates a Jackson provider that can retrieve an application-provided ObjectMapper.
-     */
-    private JacksonJsonProvider createJacksonProvider(InstanceManager instanceManager) {
-        return new JacksonJsonProvider() {
-            @SuppressWarnings("unchecked")
-            // overrides the mapper locator method to resolve the instance from the instance manager
-            protected ObjectMapper _locateMapperViaProvider(Class<?> type, MediaType mediaType) {
-                var providers = instanceManager.resolveQualifiedTypes(Provider.class);
-                for (var provider : providers) {
-                    if (provider instanceof ContextResolver) {
-                        for (var interfaze : provider.getClass().getGenericInterfaces()) {
-                            if (interfaze instanceof ParameterizedType) {
-                                var parameterizedType = (ParameterizedType) interfaze;
-                                if (parameterizedType.getRawType().equals(ContextResolver.class)) {
-                                    if (parameterizedType.getActualTypeArguments()[0].equals(ObjectMapper.class)) {
-                                        //noinspection rawtypes
-                                        return (ObjectMapper) ((ContextResolver) provider).getContext(Object.class);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-                return super._locateMapperViaProvider(type, mediaType);
-            }
-        };
-    }
-
     /**
      * Listener to reload resource endpoints.
      */
@@ -235,6 +195,7 @@ public class WebSubsystem extends Subsystem {
             if (notJaxRS(instance)) {
                 return;
             }
+            refreshJacksonProviders(instance);
             var holder = instanceToContainers.get(instance);
             if (holder == null) {
                 // if the instance is not tracked, it could be that is did not have JAX-RS annotations prior to the change
@@ -249,6 +210,7 @@ public class WebSubsystem extends Subsystem {
             if (notJaxRS(instance)) {
                 return;
             }
+            refreshJacksonProviders(instance);
             var rootPath = getRootPath(instance);
 
             var holder = pathToContainers.get(rootPath);
@@ -264,6 +226,22 @@ public class WebSubsystem extends Subsystem {
             }
         }
 
+        /**
+         * Resolves the ObjectMapper again if the instance may supply it.
+         */
+        private void refreshJacksonProviders(Object instance) {
+            if (!(instance instanceof ContextResolver)) {
+                return;
+            }
+            for (var holder : pathToContainers.values()) {
+                for (var provider : holder.resourceConfig.getInstances()) {
+                    if (provider instanceof RzJacksonProvider) {
+                        ((RzJacksonProvider) provider).refresh();
+                    }
+                }
+            }
+        }
+
         private void setContext(Holder holder) {
             // The resource context needs to be reset so it is available when the web context is reloaded; Utils.store() removes the context
             // when it is called so it is no longer in the servlet context after the initial load has completed.
@@ -303,24 +281,18 @@ public class WebSubsystem extends Subsystem {
      * Tracks servlet request and response instances, so they can be injected into controller methods params marked with {@code @Context}.
      */
     private static class ContextFilter implements Filter {
+        private static final MultipartConfigElement MULTIPART_CONFIG = new MultipartConfigElement("rz-temp");
 
         @Override
         public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain) throws ServletException, IOException {
             try {
-                RzInjectionManagerFactory.INSTANCE.registerRequestInstance(request, ServletRequest.class);
-                if (request instanceof HttpServletRequest) {
-                    if (request.getContentType() != null && request.getContentType().startsWith(MULTIPART_FORM_DATA)) {
-                        request.setAttribute(Request.__MULTIPART_CONFIG_ELEMENT, new MultipartConfigElement("rz-temp"));
-                    }
-                    RzInjectionManagerFactory.INSTANCE.registerRequestInstance((HttpServletRequest) request, HttpServletRequest.class);
-                }
-                RzInjectionManagerFactory.INSTANCE.registerRequestInstance(response, ServletResponse.class);
-                if (response instanceof HttpServletResponse) {
-                    RzInjectionManagerFactory.INSTANCE.registerRequestInstance((HttpServletResponse) response, HttpServletResponse.class);
+                RzInjectionManagerFactory.INSTANCE.enterRequest(request, response);
+                if (request.getContentType() != null && request.getContentType().startsWith(MULTIPART_FORM_DATA)) {
+                    request.setAttribute(Request.__MULTIPART_CONFIG_ELEMENT, MULTIPART_CONFIG);
                 }
                 filterChain.doFilter(request, response);
             } finally {
-                RzInjectionManagerFactory.INSTANCE.clearRequestInstances();
+                RzInjectionManagerFactory.INSTANCE.exitRequest();
             }
         }
     }
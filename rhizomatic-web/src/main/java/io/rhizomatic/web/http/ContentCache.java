@@ -0,0 +1,275 @@
+package io.rhizomatic.web.http;
+
+import org.eclipse.jetty.http.CompressedContentFormat;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.util.resource.Resource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches static web app files in memory, bounded by the total number of bytes. Files are cached with their precompressed variants and strong entity tags computed from
+ * their content. Compressible files without a precompressed gzip variant are compressed when loaded. When the cache is full, the least recently accessed files are
+ * evicted.
+ * <p>
+ * If revalidation is enabled, cached files are checked for modifications on each access and reloaded when they change. Otherwise, files are assumed not to change while
+ * the system is running.
+ */
+class ContentCache {
+    private static final MimeTypes MIME_TYPES = new MimeTypes();
+    private static final String GZIP = CompressedContentFormat.GZIP._encoding;
+
+    private long budget;
+    private long maxFileSize;
+    private boolean direct;
+    private boolean revalidate;
+    private CompressedContentFormat[] formats;
+    private Set<String> compressibleTypes;
+    private int compressionMinSize;
+    private int compressionLevel;
+
+    private ConcurrentHashMap<String, CachedContent> entries = new ConcurrentHashMap<>();
+    private AtomicLong size = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param budget the maximum number of bytes to cache
+     * @param maxFileSize the size of the largest file to cache
+     * @param direct true if content is held in direct buffers
+     * @param revalidate true if files are checked for modifications on each access
+     * @param formats the precompressed formats to cache with files
+     * @param compressibleTypes the content types compressed when loaded, or an empty set to disable compression
+     * @param compressionMinSize the minimum size of files compressed when loaded
+     * @param compressionLevel the compression level, or -1 for the default
+     */
+    ContentCache(long budget,
+                 long maxFileSize,
+                 boolean direct,
+                 boolean revalidate,
+                 CompressedContentFormat[] formats,
+                 Set<String> compressibleTypes,
+                 int compressionMinSize,
+                 int compressionLevel) {
+        this.budget = budget;
+        this.maxFileSize = Math.min(maxFileSize, budget);
+        this.direct = direct;
+        this.revalidate = revalidate;
+        this.formats = formats;
+        this.compressibleTypes = compressibleTypes;
+        this.compressionMinSize = compressionMinSize;
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Returns the cached content of the file, loading it if necessary, or null if the file does not exist, is a directory, or is too large to cache. Cached files are
+     * returned without accessing the file system unless revalidation is enabled.
+     *
+     * @param key the key identifying the content root and file
+     * @param base the content root
+     * @param path the canonical path of the file relative to the root
+     */
+    @Nullable
+    CachedContent get(String key, Resource base, String path) throws IOException {
+        var content = entries.get(key);
+        if (content != null) {
+            if (!revalidate || content.isCurrent()) {
+                content.lastAccess = System.nanoTime();
+                return content;
+            }
+            remove(key, content);
+        }
+        var resource = base.getResource(path);
+        if (resource == null || !resource.exists() || resource.isDirectory() || resource.isAlias() || resource.length() > maxFileSize) {
+            return null;
+        }
+        content = load(base, path, resource);
+        var previous = entries.putIfAbsent(key, content);
+        if (previous != null) {
+            return previous;
+        }
+        if (size.addAndGet(content.size) > budget) {
+            evict();
+        }
+        return content;
+    }
+
+    /**
+     * Returns the number of cached bytes.
+     */
+    long getSize() {
+        return size.get();
+    }
+
+    /**
+     * Removes all files.
+     */
+    void invalidateAll() {
+        for (var entry : entries.entrySet()) {
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private CachedContent load(Resource base, String path, Resource resource) throws IOException {
+        // read the timestamp first so a concurrent modification results in a reload on the next access
+        var lastModified = resource.lastModified();
+        var bytes = read(resource);
+        var identity = new Representation(resource, null, wrap(bytes), etag(bytes), lastModified, bytes.length);
+        var encoded = new ArrayList<Representation>();
+        for (var format : formats) {
+            var variant = base.getResource(path + format._extension);
+            if (variant != null && variant.exists() && !variant.isDirectory() && !variant.isAlias() && variant.length() <= maxFileSize) {
+                var variantModified = variant.lastModified();
+                var variantBytes = read(variant);
+                encoded.add(new Representation(variant, format._encoding, wrap(variantBytes), etag(variantBytes), variantModified, variantBytes.length));
+            }
+        }
+        var contentType = MIME_TYPES.getMimeByExtension(path);
+        if (isCompressible(contentType, bytes.length) && encoded.stream().noneMatch(r -> GZIP.equals(r.encoding))) {
+            var compressed = compress(bytes);
+            // the variant is derived from the file, so it is current as long as the file is
+            encoded.add(new Representation(resource, GZIP, wrap(compressed), etag(compressed), lastModified, bytes.length, compressed.length));
+        }
+        return new CachedContent(contentType, identity, encoded);
+    }
+
+    private boolean isCompressible(@Nullable String contentType, int length) {
+        if (contentType == null || length < compressionMinSize) {
+            return false;
+        }
+        var separator = contentType.indexOf(';');
+        return compressibleTypes.contains(separator < 0 ? contentType : contentType.substring(0, separator).trim());
+    }
+
+    private byte[] compress(byte[] bytes) throws IOException {
+        var output = new ByteArrayOutputStream(bytes.length / 2);
+        try (var stream = new GZIPOutputStream(output) {
+            {
+                def.setLevel(compressionLevel);
+            }
+        }) {
+            stream.write(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    private byte[] read(Resource resource) throws IOException {
+        try (var stream = resource.getInputStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private ByteBuffer wrap(byte[] bytes) {
+        var buffer = direct ? ByteBuffer.allocateDirect(bytes.length) : ByteBuffer.allocate(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private void remove(String key, CachedContent content) {
+        if (entries.remove(key, content)) {
+            size.addAndGet(-content.size);
+        }
+    }
+
+    /**
+     * Evicts the least recently accessed files until the cache is within its budget. Eviction scans all entries but only occurs when files are loaded, which is rare for
+     * static content.
+     */
+    private synchronized void evict() {
+        while (size.get() > budget) {
+            String oldestKey = null;
+            CachedContent oldest = null;
+            for (var entry : entries.entrySet()) {
+                if (oldest == null || entry.getValue().lastAccess - oldest.lastAccess < 0) {
+                    oldestKey = entry.getKey();
+                    oldest = entry.getValue();
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            remove(oldestKey, oldest);
+        }
+    }
+
+    private static String etag(byte[] bytes) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * A cached file and its precompressed variants.
+     */
+    static class CachedContent {
+        final @Nullable String contentType;
+        final Representation identity;
+        final List<Representation> encoded;
+        final long size;
+        volatile long lastAccess = System.nanoTime();
+
+        CachedContent(@Nullable String contentType, Representation identity, List<Representation> encoded) {
+            this.contentType = contentType;
+            this.identity = identity;
+            this.encoded = encoded;
+            this.size = identity.length + encoded.stream().mapToLong(r -> r.length).sum();
+        }
+
+        boolean isCurrent() {
+            if (!identity.isCurrent()) {
+                return false;
+            }
+            for (var representation : encoded) {
+                if (!representation.isCurrent()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The content of a file in an encoding.
+     */
+    static class Representation {
+        final Resource resource;
+        final @Nullable String encoding;
+        final ByteBuffer content;
+        final String etag;
+        final long lastModified;
+        final long sourceLength;  // the length of the file the content was read or derived from
+        final long length;
+
+        Representation(Resource resource, @Nullable String encoding, ByteBuffer content, String etag, long lastModified, long length) {
+            this(resource, encoding, content, etag, lastModified, length, length);
+        }
+
+        Representation(Resource resource, @Nullable String encoding, ByteBuffer content, String etag, long lastModified, long sourceLength, long length) {
+            this.resource = resource;
+            this.encoding = encoding;
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.sourceLength = sourceLength;
+            this.length = length;
+        }
+
+        boolean isCurrent() {
+            return resource.exists() && resource.lastModified() == lastModified && resource.length() == sourceLength;
+        }
+    }
+}
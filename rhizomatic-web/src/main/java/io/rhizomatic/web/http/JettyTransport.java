@@ -1,30 +1,45 @@
 package io.rhizomatic.web.http;
 
 import io.rhizomatic.api.Monitor;
-import io.rhizomatic.kernel.spi.SystemConfiguration;
 import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http.CompressedContentFormat;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
+import org.eclipse.jetty.server.handler.ResourceHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Provides HTTP communication to the system via Jetty.
  */
 public class JettyTransport {
-    @SystemConfiguration
-    private static final String HTTP_PORT = "http.port";
-    @SystemConfiguration
-    private static final String HTTPS_PORT = "https.port";
-    @SystemConfiguration
-    private static final String HTTPS_ENABLED = "https.enabled";
-
     private static final String LOG_CLASS = "org.eclipse.jetty.util.log.class";
     private static final String ANNOUNCE = "org.eclipse.jetty.util.log.announce";
+    private static final String SESSION_TICKETS_PROPERTY = "jdk.tls.server.enableSessionTicketExtension";
+    private static final String HTTP2_PROTOCOL = "h2";
+    private static final String[] COMPRESSED_METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE"};
 
-    private int httpPort;
+    private TransportConfiguration configuration;
+    private @Nullable ContentCache contentCache;
 
     private Server server;
     private Monitor monitor;
@@ -36,8 +51,34 @@ public class JettyTransport {
     }
 
     public void initialize(SubsystemContext context) {
-        httpPort = getHttp(context);
-        server = new Server(httpPort);
+        configuration = new TransportConfiguration(context);
+        if (configuration.virtualThreadsRequested && !configuration.virtualThreads) {
+            context.getMonitor().info(() -> "Virtual threads are not supported by the runtime, handling HTTP requests with platform threads");
+        }
+        server = new Server(configuration.virtualThreads ? new VirtualThreadPool("rz-http") : createThreadPool());
+
+        var httpConfiguration = new HttpConfiguration();
+        httpConfiguration.setOutputBufferSize(configuration.outputBuffer);
+        httpConfiguration.setRequestHeaderSize(configuration.requestHeaderSize);
+        if (configuration.httpsEnabled) {
+            httpConfiguration.setSecurePort(configuration.httpsPort);
+        }
+
+        server.addConnector(createHttpConnector(httpConfiguration));
+        if (configuration.httpsEnabled) {
+            server.addConnector(createHttpsConnector(httpConfiguration));
+        }
+
+        if (configuration.contentCacheSize > 0) {
+            contentCache = new ContentCache(configuration.contentCacheSize,
+                                            configuration.contentCacheMaxFile,
+                                            configuration.contentCacheDirect,
+                                            configuration.contentCacheRevalidate,
+                                            getPrecompressedFormats(),
+                                            configuration.compressionEnabled ? Set.of(configuration.compressionMimeTypes) : Set.of(),
+                                            configuration.compressionMinSize,
+                                            configuration.compressionLevel);
+        }
     }
 
     public void start(SubsystemContext context) {
@@ -48,10 +89,14 @@ public class JettyTransport {
         try {
             var contexts = new ContextHandlerCollection();
             contexts.setHandlers(handlers.toArray(new Handler[0]));
-            server.setHandler(contexts);
+            server.setHandler(configuration.compressionEnabled ? createGzipHandler(contexts) : contexts);
             server.start();
 
-            monitor.info(() -> "Listening on HTTP " + httpPort);
+            monitor.info(() -> "Listening on HTTP " + configuration.port);
+            if (configuration.httpsEnabled) {
+                monitor.info(() -> "Listening on HTTPS " + configuration.httpsPort);
+            }
+            monitor.info(() -> "HTTP transport configuration: " + configuration);
         } catch (Exception e) {
             monitor.severe(() -> "Error starting HTTP transport", e);
         }
@@ -66,18 +111,139 @@ public class JettyTransport {
         } catch (Exception e) {
             monitor.severe(() -> "Error stopping HTTP transport", e);
         }
+        if (contentCache != null) {
+            contentCache.invalidateAll();
+        }
     }
 
     public void registerHandler(Handler handler) {
         handlers.add(handler);
     }
 
-    private int getHttp(SubsystemContext context) {
-        var httpPort = context.getConfiguration(Integer.class, HTTP_PORT);
-        if (httpPort == null) {
-            httpPort = 8080;
+    /**
+     * Creates a handler that serves a web app from the resource. Unless disabled, SPA app URLs are rewritten to the index page. Content is served from the content
+     * cache if enabled, and pre-built Brotli ({@code .br}) and gzip ({@code .gz}) siblings of a file are served to clients that accept the encoding.
+     *
+     * @param resource the content root
+     */
+    public Handler createWebAppHandler(Resource resource) {
+        var contentHandler = createContentHandler(resource);
+        if (!configuration.spaEnabled) {
+            return contentHandler;
         }
-        return httpPort;
+        var rewriteHandler = new RewriteHandler(configuration.spaIndex, configuration.spaExcluded, configuration.spaAssets);
+        rewriteHandler.setHandler(contentHandler);
+        return rewriteHandler;
+    }
+
+    private Handler createContentHandler(Resource resource) {
+        var resourceHandler = new ResourceHandler();
+        resourceHandler.setBaseResource(resource);
+        resourceHandler.setPrecompressedFormats(getPrecompressedFormats());
+        if (configuration.cacheControl != null) {
+            resourceHandler.setCacheControl(configuration.cacheControl);
+        }
+        if (contentCache == null) {
+            return resourceHandler;
+        }
+        var contentHandler = new StaticContentHandler(resource, contentCache, configuration.cacheControl, configuration.immutablePaths);
+        contentHandler.setHandler(resourceHandler);
+        return contentHandler;
+    }
+
+    private ServerConnector createHttpConnector(HttpConfiguration httpConfiguration) {
+        var factories = new ArrayList<ConnectionFactory>();
+        factories.add(new HttpConnectionFactory(httpConfiguration));
+        if (configuration.http2Cleartext) {
+            // HTTP/1.1 connections are upgraded to HTTP/2 on an h2c upgrade request or when the client sends the HTTP/2 preface
+            factories.add(configure(new HTTP2CServerConnectionFactory(httpConfiguration)));
+        }
+        return createConnector(configuration.port, factories);
+    }
+
+    /**
+     * Creates a TLS connector. When HTTP/2 is enabled, the protocol is negotiated with ALPN, falling back to HTTP/1.1 for clients that do not support it.
+     */
+    private ServerConnector createHttpsConnector(HttpConfiguration httpConfiguration) {
+        var httpsConfiguration = new HttpConfiguration(httpConfiguration);
+        httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+        var http11 = new HttpConnectionFactory(httpsConfiguration);
+
+        var sslContextFactory = createSslContextFactory();
+        var factories = new ArrayList<ConnectionFactory>();
+        if (configuration.httpsHttp2) {
+            var alpn = new ALPNServerConnectionFactory(HTTP2_PROTOCOL, http11.getProtocol());
+            alpn.setDefaultProtocol(http11.getProtocol());
+            // HTTP/2 prohibits some cipher suites, so order permitted suites first to ensure one is selected when a client supports it
+            sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+            sslContextFactory.setUseCipherSuitesOrder(true);
+            factories.add(new SslConnectionFactory(sslContextFactory, alpn.getProtocol()));
+            factories.add(alpn);
+            factories.add(configure(new HTTP2ServerConnectionFactory(httpsConfiguration)));
+        } else {
+            factories.add(new SslConnectionFactory(sslContextFactory, http11.getProtocol()));
+        }
+        factories.add(http11);
+        return createConnector(configuration.httpsPort, factories);
+    }
+
+    private SslContextFactory createSslContextFactory() {
+        if (configuration.sessionTickets != null) {
+            // JSSE only supports enabling stateless resumption globally; the property is read when the first TLS context is created
+            System.setProperty(SESSION_TICKETS_PROPERTY, configuration.sessionTickets.toString());
+        }
+        var sslContextFactory = new SslContextFactory();
+        sslContextFactory.setKeyStorePath(configuration.keyStorePath);
+        sslContextFactory.setKeyStorePassword(configuration.keyStorePassword);
+        sslContextFactory.setKeyStoreType(configuration.keyStoreType);
+        if (configuration.keyPassword != null) {
+            sslContextFactory.setKeyManagerPassword(configuration.keyPassword);
+        }
+        sslContextFactory.setIncludeProtocols(configuration.protocols);
+        if (configuration.ciphers != null) {
+            sslContextFactory.setIncludeCipherSuites(configuration.ciphers);
+        }
+        sslContextFactory.setSslSessionCacheSize(configuration.sessionCacheSize);
+        sslContextFactory.setSslSessionTimeout(configuration.sessionTimeout);
+        return sslContextFactory;
+    }
+
+    private <T extends AbstractHTTP2ServerConnectionFactory> T configure(T factory) {
+        factory.setMaxConcurrentStreams(configuration.http2MaxStreams);
+        factory.setInitialStreamRecvWindow(configuration.http2StreamWindow);
+        factory.setInitialSessionRecvWindow(configuration.http2SessionWindow);
+        return factory;
+    }
+
+    private ServerConnector createConnector(int port, List<ConnectionFactory> factories) {
+        var connector = new ServerConnector(server, configuration.acceptors, configuration.selectors, factories.toArray(new ConnectionFactory[0]));
+        connector.setPort(port);
+        connector.setAcceptQueueSize(configuration.acceptQueue);
+        connector.setIdleTimeout(configuration.idleTimeout);
+        return connector;
+    }
+
+    /**
+     * Creates a handler that compresses responses with gzip. Responses that are already encoded, such as precompressed static content, are passed through.
+     */
+    private GzipHandler createGzipHandler(Handler handler) {
+        var gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(configuration.compressionMinSize);
+        gzipHandler.setIncludedMimeTypes(configuration.compressionMimeTypes);
+        gzipHandler.setCompressionLevel(configuration.compressionLevel);
+        gzipHandler.setIncludedMethods(COMPRESSED_METHODS);
+        gzipHandler.setHandler(handler);
+        return gzipHandler;
+    }
+
+    private CompressedContentFormat[] getPrecompressedFormats() {
+        return configuration.precompressed ? new CompressedContentFormat[]{CompressedContentFormat.BR, CompressedContentFormat.GZIP} : new CompressedContentFormat[0];
+    }
+
+    private QueuedThreadPool createThreadPool() {
+        var threadPool = new QueuedThreadPool(configuration.maxThreads, configuration.minThreads, configuration.threadIdleTimeout);
+        threadPool.setName("rz-http");
+        return threadPool;
     }
 
 }
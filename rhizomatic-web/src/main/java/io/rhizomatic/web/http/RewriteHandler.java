@@ -2,17 +2,41 @@ package io.rhizomatic.web.http;
 
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.jetbrains.annotations.Nullable;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.regex.Pattern;
 
 /**
- * Provides support for SPAs such as Angular that require app URLs to be re-written to index.html. Rewrites all paths except those containing ".", which point to resource
- * files such as Javascript, CSS, and images.
+ * Provides support for SPAs such as Angular that require app URLs to be re-written to index.html. Paths under an excluded prefix and paths of assets are not rewritten.
+ * A prefix matches whole path segments, so excluding {@code /api} does not exclude {@code /api-docs}. By default, asset paths are those containing ".", which point to resource files such as Javascript, CSS, and images.
  */
 public class RewriteHandler extends HandlerWrapper {
+    private static final String INDEX = "/index.html";
+
+    private String index;
+    private String[] excludedPrefixes;
+    private @Nullable Pattern assets;
+
+    public RewriteHandler() {
+        this(INDEX, new String[0], null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param index the path app URLs are rewritten to
+     * @param excludedPrefixes path prefixes that are not rewritten, such as a REST API path
+     * @param assets the pattern matching paths of assets, or null to treat paths containing "." as assets
+     */
+    public RewriteHandler(String index, String[] excludedPrefixes, @Nullable Pattern assets) {
+        this.index = index;
+        this.excludedPrefixes = excludedPrefixes;
+        this.assets = assets;
+    }
 
     @Override
     public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
@@ -21,11 +45,29 @@ public class RewriteHandler extends HandlerWrapper {
         super.handle(target, baseRequest, request, response);
     }
 
-    private String calculateTarget(String target) {
+    String calculateTarget(String target) {
+        for (var prefix : excludedPrefixes) {
+            if (isUnder(target, prefix)) {
+                return target;
+            }
+        }
+        if (assets != null) {
+            return assets.matcher(target).matches() ? target : index;
+        }
         var pos = target.lastIndexOf(".");
         if (pos > 1 && pos < target.length() - 1) {
             return target;
         }
-        return "/index.html";
+        return index;
+    }
+
+    /**
+     * Returns true if the path is the prefix or a path below it.
+     */
+    private static boolean isUnder(String target, String prefix) {
+        if (!target.startsWith(prefix)) {
+            return false;
+        }
+        return target.length() == prefix.length() || prefix.endsWith("/") || target.charAt(prefix.length()) == '/';
     }
 }
@@ -0,0 +1,150 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.web.http.ContentCache.CachedContent;
+import io.rhizomatic.web.http.ContentCache.Representation;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.URIUtil;
+import org.eclipse.jetty.util.resource.Resource;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Serves static web app content from the content cache. Responses carry strong entity tags and a Cache-Control policy selected by path, and conditional requests are
+ * answered with 304 responses. Requests the cache cannot serve, such as range requests and files too large to cache, are passed to the wrapped handler.
+ */
+class StaticContentHandler extends HandlerWrapper {
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final AtomicInteger ROOTS = new AtomicInteger();
+
+    private Resource base;
+    private String root;
+    private ContentCache cache;
+    private @Nullable String cacheControl;
+    private @Nullable Pattern immutablePaths;
+
+    /**
+     * Constructor.
+     *
+     * @param base the content root
+     * @param cache the content cache
+     * @param cacheControl the Cache-Control header value for content that is not immutable, or null to omit the header
+     * @param immutablePaths paths of content that never changes, such as bundles with a content hash in their names, or null
+     */
+    StaticContentHandler(Resource base, ContentCache cache, @Nullable String cacheControl, @Nullable Pattern immutablePaths) {
+        this.base = base;
+        this.root = ROOTS.incrementAndGet() + ":";
+        this.cache = cache;
+        this.cacheControl = cacheControl;
+        this.immutablePaths = immutablePaths;
+    }
+
+    public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        var method = request.getMethod();
+        var head = HttpMethod.HEAD.is(method);
+        if (!head && !HttpMethod.GET.is(method) || request.getHeader(HttpHeader.RANGE.asString()) != null) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        var path = URIUtil.canonicalPath(target);
+        var content = path == null ? null : cache.get(root + path, base, path);
+        if (content == null) {
+            super.handle(target, baseRequest, request, response);
+            return;
+        }
+        baseRequest.setHandled(true);
+
+        var representation = select(content, request.getHeader(HttpHeader.ACCEPT_ENCODING.asString()));
+        if (!content.encoded.isEmpty()) {
+            response.addHeader(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+        }
+        response.setHeader(HttpHeader.ETAG.asString(), representation.etag);
+        response.setDateHeader(HttpHeader.LAST_MODIFIED.asString(), representation.lastModified);
+        var policy = immutablePaths != null && immutablePaths.matcher(path).matches() ? IMMUTABLE : cacheControl;
+        if (policy != null) {
+            response.setHeader(HttpHeader.CACHE_CONTROL.asString(), policy);
+        }
+        if (notModified(request, representation)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (content.contentType != null) {
+            response.setContentType(content.contentType);
+        }
+        if (representation.encoding != null) {
+            response.setHeader(HttpHeader.CONTENT_ENCODING.asString(), representation.encoding);
+        }
+        response.setContentLengthLong(representation.length);
+        if (!head) {
+            baseRequest.getResponse().getHttpOutput().sendContent(representation.content.duplicate());
+        }
+    }
+
+    /**
+     * Selects the first precompressed representation the client accepts, or the identity representation.
+     */
+    private Representation select(CachedContent content, @Nullable String acceptEncoding) {
+        if (acceptEncoding != null) {
+            for (var representation : content.encoded) {
+                if (accepts(acceptEncoding, representation.encoding)) {
+                    return representation;
+                }
+            }
+        }
+        return content.identity;
+    }
+
+    /**
+     * Returns true if the validators sent by the client match the representation. If-Modified-Since is only evaluated when If-None-Match is absent.
+     */
+    private boolean notModified(HttpServletRequest request, Representation representation) {
+        var ifNoneMatch = request.getHeader(HttpHeader.IF_NONE_MATCH.asString());
+        if (ifNoneMatch != null) {
+            for (var tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                // If-None-Match uses the weak comparison function
+                if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(representation.etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            var ifModifiedSince = request.getDateHeader(HttpHeader.IF_MODIFIED_SINCE.asString());
+            // HTTP dates have a resolution of one second
+            return ifModifiedSince != -1 && representation.lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;  // invalid date, ignore the header
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, @Nullable String encoding) {
+        for (var token : acceptEncoding.split(",")) {
+            var parameters = token.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase(encoding)) {
+                continue;
+            }
+            for (var i = 1; i < parameters.length; i++) {
+                var parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,340 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.api.RhizomaticException;
+import io.rhizomatic.kernel.spi.SystemConfiguration;
+import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static io.rhizomatic.kernel.spi.ConfigurationKeys.ENVIRONMENT;
+
+/**
+ * The validated connector and thread pool settings of the HTTP transport. Settings that are not configured use the Jetty defaults.
+ */
+class TransportConfiguration {
+    @SystemConfiguration
+    private static final String HTTP_PORT = "http.port";
+    @SystemConfiguration
+    private static final String VIRTUAL_THREADS = "http.virtual.threads";
+    @SystemConfiguration
+    private static final String MIN_THREADS = "http.threads.min";
+    @SystemConfiguration
+    private static final String MAX_THREADS = "http.threads.max";
+    @SystemConfiguration
+    private static final String THREAD_IDLE_TIMEOUT = "http.threads.idle.timeout";
+    @SystemConfiguration
+    private static final String ACCEPTORS = "http.acceptors";
+    @SystemConfiguration
+    private static final String SELECTORS = "http.selectors";
+    @SystemConfiguration
+    private static final String ACCEPT_QUEUE = "http.accept.queue";
+    @SystemConfiguration
+    private static final String IDLE_TIMEOUT = "http.idle.timeout";
+    @SystemConfiguration
+    private static final String OUTPUT_BUFFER = "http.output.buffer";
+    @SystemConfiguration
+    private static final String REQUEST_HEADER_SIZE = "http.request.header.size";
+    @SystemConfiguration
+    private static final String HTTP2_CLEARTEXT = "http2.cleartext";
+    @SystemConfiguration
+    private static final String HTTP2_MAX_STREAMS = "http2.max.streams";
+    @SystemConfiguration
+    private static final String HTTP2_STREAM_WINDOW = "http2.stream.window";
+    @SystemConfiguration
+    private static final String HTTP2_SESSION_WINDOW = "http2.session.window";
+    @SystemConfiguration
+    private static final String COMPRESSION_ENABLED = "http.compression.enabled";
+    @SystemConfiguration
+    private static final String COMPRESSION_MIN_SIZE = "http.compression.min.size";
+    @SystemConfiguration
+    private static final String COMPRESSION_MIME_TYPES = "http.compression.mime.types";
+    @SystemConfiguration
+    private static final String COMPRESSION_LEVEL = "http.compression.level";
+    @SystemConfiguration
+    private static final String PRECOMPRESSED = "http.precompressed";
+    @SystemConfiguration
+    private static final String CONTENT_CACHE_SIZE = "http.content.cache.size";
+    @SystemConfiguration
+    private static final String CONTENT_CACHE_MAX_FILE = "http.content.cache.max.file";
+    @SystemConfiguration
+    private static final String CONTENT_CACHE_DIRECT = "http.content.cache.direct";
+    @SystemConfiguration
+    private static final String CONTENT_CACHE_REVALIDATE = "http.content.cache.revalidate";
+    @SystemConfiguration
+    private static final String CACHE_CONTROL = "http.cache.control";
+    @SystemConfiguration
+    private static final String CACHE_CONTROL_IMMUTABLE = "http.cache.control.immutable";
+    @SystemConfiguration
+    private static final String SPA_ENABLED = "http.spa.enabled";
+    @SystemConfiguration
+    private static final String SPA_INDEX = "http.spa.index";
+    @SystemConfiguration
+    private static final String SPA_EXCLUDED = "http.spa.excluded";
+    @SystemConfiguration
+    private static final String SPA_ASSETS = "http.spa.assets";
+    @SystemConfiguration
+    private static final String HTTPS_ENABLED = "https.enabled";
+    @SystemConfiguration
+    private static final String HTTPS_PORT = "https.port";
+    @SystemConfiguration
+    private static final String HTTPS_HTTP2 = "https.http2";
+    @SystemConfiguration
+    private static final String KEYSTORE_PATH = "https.keystore.path";
+    @SystemConfiguration
+    private static final String KEYSTORE_PASSWORD = "https.keystore.password";
+    @SystemConfiguration
+    private static final String KEYSTORE_TYPE = "https.keystore.type";
+    @SystemConfiguration
+    private static final String KEY_PASSWORD = "https.key.password";
+    @SystemConfiguration
+    private static final String PROTOCOLS = "https.protocols";
+    @SystemConfiguration
+    private static final String CIPHERS = "https.ciphers";
+    @SystemConfiguration
+    private static final String SESSION_CACHE_SIZE = "https.session.cache.size";
+    @SystemConfiguration
+    private static final String SESSION_TIMEOUT = "https.session.timeout";
+    @SystemConfiguration
+    private static final String SESSION_TICKETS = "https.session.tickets";
+
+    // matches names containing a content hash, e.g. main.3b2f1c9e8d7a6b5c.js
+    private static final String DEFAULT_IMMUTABLE_PATHS = ".*[.-][0-9a-fA-F]{8,}\\.[A-Za-z0-9]+";
+
+    // event streams are excluded since compression buffers output
+    private static final String[] DEFAULT_COMPRESSION_MIME_TYPES = {"text/html", "text/plain", "text/css", "text/javascript", "application/javascript",
+                                                                    "application/json", "application/xml", "image/svg+xml"};
+
+    final int port;
+    final boolean virtualThreadsRequested;
+    final boolean virtualThreads;          // false if requested but not supported by the runtime
+    final int minThreads;
+    final int maxThreads;
+    final int threadIdleTimeout;
+    final int acceptors;        // -1 selects the Jetty default based on the number of processors
+    final int selectors;        // -1 selects the Jetty default based on the number of processors
+    final int acceptQueue;      // 0 selects the operating system default
+    final long idleTimeout;
+    final int outputBuffer;
+    final int requestHeaderSize;
+    final boolean http2Cleartext;
+    final int http2MaxStreams;
+    final int http2StreamWindow;
+    final int http2SessionWindow;
+    final boolean compressionEnabled;
+    final int compressionMinSize;
+    final String[] compressionMimeTypes;
+    final int compressionLevel;             // -1 selects the Deflater default
+    final boolean precompressed;
+    final int contentCacheSize;             // 0 disables the cache
+    final int contentCacheMaxFile;
+    final boolean contentCacheDirect;
+    final boolean contentCacheRevalidate;
+    @Nullable final String cacheControl;
+    @Nullable final Pattern immutablePaths;
+    final boolean spaEnabled;
+    final String spaIndex;
+    final String[] spaExcluded;
+    @Nullable final Pattern spaAssets;      // null selects paths containing "."
+    final boolean httpsEnabled;
+    final int httpsPort;
+    final boolean httpsHttp2;
+    @Nullable final String keyStorePath;
+    @Nullable final String keyStorePassword;
+    final String keyStoreType;
+    @Nullable final String keyPassword;
+    final String[] protocols;
+    @Nullable final String[] ciphers;       // null selects the JVM defaults
+    final int sessionCacheSize;             // -1 selects the JVM default
+    final int sessionTimeout;               // -1 selects the JVM default
+    @Nullable final Boolean sessionTickets; // null leaves the JVM setting unchanged
+
+    /**
+     * Reads and validates the settings.
+     *
+     * @param context the subsystem context
+     * @throws RhizomaticException if a setting is invalid
+     */
+    TransportConfiguration(SubsystemContext context) {
+        port = getInt(context, HTTP_PORT, 8080, 0);
+        if (port > 65535) {
+            throw new RhizomaticException("Invalid configuration value for " + HTTP_PORT + ": " + port);
+        }
+        virtualThreadsRequested = getBoolean(context, VIRTUAL_THREADS, false);
+        virtualThreads = virtualThreadsRequested && VirtualThreads.isAvailable();
+        minThreads = getInt(context, MIN_THREADS, 8, 1);
+        maxThreads = getInt(context, MAX_THREADS, 200, 1);
+        if (minThreads > maxThreads) {
+            throw new RhizomaticException(MIN_THREADS + " (" + minThreads + ") must not exceed " + MAX_THREADS + " (" + maxThreads + ")");
+        }
+        threadIdleTimeout = getInt(context, THREAD_IDLE_TIMEOUT, 60000, 1);
+        acceptors = getInt(context, ACCEPTORS, -1, -1);
+        selectors = getInt(context, SELECTORS, -1, -1);
+        if (selectors == 0) {
+            throw new RhizomaticException(SELECTORS + " must be at least 1");
+        }
+        acceptQueue = getInt(context, ACCEPT_QUEUE, 0, 0);
+        idleTimeout = getInt(context, IDLE_TIMEOUT, 30000, 1);
+        outputBuffer = getInt(context, OUTPUT_BUFFER, 32768, 1);
+        requestHeaderSize = getInt(context, REQUEST_HEADER_SIZE, 8192, 1);
+        http2Cleartext = getBoolean(context, HTTP2_CLEARTEXT, false);
+        http2MaxStreams = getInt(context, HTTP2_MAX_STREAMS, 128, 1);
+        // HTTP/2 requires flow-control windows of at least 65535 bytes
+        http2StreamWindow = getInt(context, HTTP2_STREAM_WINDOW, 512 * 1024, 65535);
+        http2SessionWindow = getInt(context, HTTP2_SESSION_WINDOW, 1024 * 1024, 65535);
+
+        compressionEnabled = getBoolean(context, COMPRESSION_ENABLED, true);
+        compressionMinSize = getInt(context, COMPRESSION_MIN_SIZE, 1024, 0);
+        var mimeTypes = getList(context, COMPRESSION_MIME_TYPES);
+        compressionMimeTypes = mimeTypes == null ? DEFAULT_COMPRESSION_MIME_TYPES : mimeTypes;
+        compressionLevel = getInt(context, COMPRESSION_LEVEL, -1, -1);
+        if (compressionLevel > 9) {
+            throw new RhizomaticException("Invalid configuration value for " + COMPRESSION_LEVEL + ": " + compressionLevel + ". The value must be between -1 and 9");
+        }
+        precompressed = getBoolean(context, PRECOMPRESSED, true);
+
+        contentCacheSize = getInt(context, CONTENT_CACHE_SIZE, 32 * 1024 * 1024, 0);
+        contentCacheMaxFile = getInt(context, CONTENT_CACHE_MAX_FILE, 1024 * 1024, 1);
+        contentCacheDirect = getBoolean(context, CONTENT_CACHE_DIRECT, true);
+        // files are only expected to change during development
+        contentCacheRevalidate = getBoolean(context, CONTENT_CACHE_REVALIDATE, !"production".equals(context.getConfiguration(Object.class, ENVIRONMENT)));
+        var cacheControlValue = context.getConfiguration(Object.class, CACHE_CONTROL);
+        cacheControl = cacheControlValue == null ? "no-cache" : getString(context, CACHE_CONTROL);
+        immutablePaths = getPattern(context, CACHE_CONTROL_IMMUTABLE, DEFAULT_IMMUTABLE_PATHS);
+
+        spaEnabled = getBoolean(context, SPA_ENABLED, true);
+        var index = getString(context, SPA_INDEX);
+        spaIndex = index == null ? "/index.html" : (index.startsWith("/") ? index : "/" + index);
+        var excluded = getList(context, SPA_EXCLUDED);
+        spaExcluded = excluded == null ? new String[0] : excluded;
+        spaAssets = getPattern(context, SPA_ASSETS, null);
+
+        httpsEnabled = getBoolean(context, HTTPS_ENABLED, false);
+        httpsPort = getInt(context, HTTPS_PORT, 8443, 0);
+        if (httpsPort > 65535) {
+            throw new RhizomaticException("Invalid configuration value for " + HTTPS_PORT + ": " + httpsPort);
+        }
+        httpsHttp2 = getBoolean(context, HTTPS_HTTP2, true);
+        keyStorePath = getString(context, KEYSTORE_PATH);
+        keyStorePassword = getString(context, KEYSTORE_PASSWORD);
+        var type = getString(context, KEYSTORE_TYPE);
+        keyStoreType = type == null ? "PKCS12" : type;
+        keyPassword = getString(context, KEY_PASSWORD);
+        var protocolList = getList(context, PROTOCOLS);
+        protocols = protocolList == null ? new String[]{"TLSv1.3", "TLSv1.2"} : protocolList;
+        ciphers = getList(context, CIPHERS);
+        sessionCacheSize = getInt(context, SESSION_CACHE_SIZE, -1, 0);
+        sessionTimeout = getInt(context, SESSION_TIMEOUT, -1, 0);
+        sessionTickets = context.getConfiguration(Object.class, SESSION_TICKETS) == null ? null : getBoolean(context, SESSION_TICKETS, false);
+        if (httpsEnabled) {
+            if (keyStorePath == null || keyStorePassword == null) {
+                throw new RhizomaticException(KEYSTORE_PATH + " and " + KEYSTORE_PASSWORD + " must be configured when HTTPS is enabled");
+            }
+            if (!Files.isReadable(Paths.get(keyStorePath))) {
+                throw new RhizomaticException("Keystore not found: " + keyStorePath);
+            }
+            if (httpsPort == port && port != 0) {
+                throw new RhizomaticException(HTTPS_PORT + " must differ from " + HTTP_PORT + ": " + port);
+            }
+        }
+
+        if (!virtualThreads && getReservedThreads() >= maxThreads) {
+            throw new RhizomaticException(MAX_THREADS + " (" + maxThreads + ") must exceed the number of acceptor and selector threads (" + getReservedThreads() + ")");
+        }
+    }
+
+    /**
+     * Returns the number of pool threads the connector reserves for accepting connections and selecting, or -1 if it depends on the number of processors.
+     */
+    int getReservedThreads() {
+        if (acceptors < 0 || selectors < 0) {
+            return -1;
+        }
+        var connectors = httpsEnabled ? 2 : 1;
+        return connectors * (acceptors + selectors);
+    }
+
+    public String toString() {
+        var threads = virtualThreads ? "virtual" : minThreads + "-" + maxThreads + " (idle timeout " + threadIdleTimeout + " ms)";
+        return "port " + port
+               + ", threads " + threads
+               + ", acceptors " + (acceptors < 0 ? "default" : acceptors)
+               + ", selectors " + (selectors < 0 ? "default" : selectors)
+               + ", accept queue " + (acceptQueue == 0 ? "default" : acceptQueue)
+               + ", idle timeout " + idleTimeout + " ms"
+               + ", output buffer " + outputBuffer
+               + ", request header size " + requestHeaderSize
+               + (compressionEnabled ? ", compression (min size " + compressionMinSize + ", level " + (compressionLevel < 0 ? "default" : compressionLevel) + ")" : "")
+               + (precompressed ? ", precompressed assets" : "")
+               + (spaEnabled ? ", SPA index " + spaIndex : "")
+               + (contentCacheSize > 0 ? ", content cache " + contentCacheSize + (contentCacheRevalidate ? " (revalidating)" : "") : "")
+               + (http2Cleartext ? ", h2c" : "")
+               + (http2Cleartext || (httpsEnabled && httpsHttp2) ? ", HTTP/2 max streams " + http2MaxStreams + ", stream window " + http2StreamWindow + ", session window "
+                                                                   + http2SessionWindow : "")
+               + (httpsEnabled ? ", HTTPS port " + httpsPort + " (protocols " + String.join(",", protocols) + (httpsHttp2 ? ", ALPN h2,http/1.1" : "")
+                                 + ", session cache " + (sessionCacheSize < 0 ? "default" : sessionCacheSize)
+                                 + ", session timeout " + (sessionTimeout < 0 ? "default" : sessionTimeout + " s")
+                                 + ", session tickets " + (sessionTickets == null ? "default" : sessionTickets) + ")" : "");
+    }
+
+    private static int getInt(SubsystemContext context, String key, int defaultValue, int minimum) {
+        var value = context.getConfiguration(Object.class, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        int parsed;
+        try {
+            parsed = value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + value);
+        }
+        if (parsed < minimum) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + value + ". The value must be at least " + minimum);
+        }
+        return parsed;
+    }
+
+    @Nullable
+    private static String getString(SubsystemContext context, String key) {
+        var value = context.getConfiguration(Object.class, key);
+        if (value == null || value.toString().isBlank()) {
+            return null;
+        }
+        return value.toString().trim();
+    }
+
+    @Nullable
+    private static String[] getList(SubsystemContext context, String key) {
+        var value = getString(context, key);
+        if (value == null) {
+            return null;
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toArray(String[]::new);
+    }
+
+    /**
+     * Returns the pattern configured for the key, the default if the key is not configured, or null if the key is configured with an empty value.
+     */
+    @Nullable
+    private static Pattern getPattern(SubsystemContext context, String key, @Nullable String defaultValue) {
+        var value = context.getConfiguration(Object.class, key) == null ? defaultValue : getString(context, key);
+        try {
+            return value == null ? null : Pattern.compile(value);
+        } catch (PatternSyntaxException e) {
+            throw new RhizomaticException("Invalid configuration value for " + key + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean getBoolean(SubsystemContext context, String key, boolean defaultValue) {
+        var value = context.getConfiguration(Object.class, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(value.toString().trim());
+    }
+}
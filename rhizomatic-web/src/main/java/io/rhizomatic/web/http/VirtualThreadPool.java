@@ -0,0 +1,64 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Jetty thread pool that runs each task on a new virtual thread, so requests that block on I/O do not occupy a platform worker thread. Request-scoped state held in
+ * thread locals remains valid since a request is handled by a single thread.
+ */
+public class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+    private final String name;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong counter = new AtomicLong();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public VirtualThreadPool(String name) {
+        if (!VirtualThreads.isAvailable()) {
+            throw new IllegalStateException("Virtual threads are not supported by the runtime");
+        }
+        this.name = name;
+    }
+
+    public void execute(Runnable task) {
+        if (stopped.getCount() == 0) {
+            throw new RejectedExecutionException(name + " is stopped");
+        }
+        var thread = VirtualThreads.newThread(name + "-" + counter.incrementAndGet(), true, () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        thread.start();
+    }
+
+    public void join() throws InterruptedException {
+        stopped.await();
+    }
+
+    public int getThreads() {
+        return active.get();
+    }
+
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    public boolean isLowOnThreads() {
+        return false;
+    }
+
+    protected void doStop() throws Exception {
+        stopped.countDown();
+        super.doStop();
+    }
+}
@@ -0,0 +1,162 @@
+package io.rhizomatic.web.jersey;
+
+import org.glassfish.jersey.internal.inject.ServiceHolder;
+import org.glassfish.jersey.internal.inject.ServiceHolderImpl;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.rhizomatic.kernel.spi.util.Cast.cast;
+
+/**
+ * An immutable index of contracts to the instances bound to them. Service holders are created when the index is built, so lookups only copy the lists they return.
+ * Returned lists are mutable copies as Jersey adds to the lists it obtains from the injection manager.
+ * <p>
+ * Each qualifier is assigned a bit, and the qualifiers of an instance are stored as a bit set, so filtering by qualifier does not require set lookups. Qualifiers beyond
+ * the 64th fall back to set membership.
+ */
+class ContractIndex {
+    private Map<Type, Entry> entries;
+    private Map<Annotation, Long> qualifierBits;
+
+    /**
+     * Constructor.
+     *
+     * @param bindings the contracts and the bindings to them, in registration order
+     */
+    ContractIndex(Map<Type, List<Binding>> bindings) {
+        qualifierBits = new HashMap<>();
+        for (var list : bindings.values()) {
+            for (var binding : list) {
+                for (var qualifier : binding.qualifiers) {
+                    if (!qualifierBits.containsKey(qualifier) && qualifierBits.size() < Long.SIZE) {
+                        qualifierBits.put(qualifier, 1L << qualifierBits.size());
+                    }
+                }
+            }
+        }
+        entries = new HashMap<>();
+        for (var contractBindings : bindings.entrySet()) {
+            var contract = contractBindings.getKey();
+            var list = contractBindings.getValue();
+            if (list.isEmpty()) {
+                continue;
+            }
+            var holders = new ArrayList<ServiceHolder<?>>(list.size());
+            var bits = new long[list.size()];
+            for (var i = 0; i < list.size(); i++) {
+                var binding = list.get(i);
+                holders.add(new ServiceHolderImpl<>(binding.instance, Set.of(contract)));
+                bits[i] = bitsOf(binding.qualifiers);
+            }
+            var first = list.get(0).instance;
+            entries.put(contract, new Entry(List.copyOf(list), Collections.unmodifiableList(holders), bits, Collections.singletonList(first)));
+        }
+    }
+
+    /**
+     * Returns the first instance bound to the contract or null.
+     */
+    <T> T getInstance(Type contract) {
+        var entry = entries.get(contract);
+        return entry == null ? null : cast(entry.instances.get(0));
+    }
+
+    /**
+     * Returns a list containing the first instance bound to the contract, or an empty list.
+     */
+    <T> List<T> getInstances(Type contract) {
+        var entry = entries.get(contract);
+        return entry == null ? new ArrayList<>() : new ArrayList<>(cast(entry.instances));
+    }
+
+    /**
+     * Returns the holders of instances bound to the contract that have at least one of the qualifiers, or all holders if the qualifiers are null.
+     */
+    <T> List<ServiceHolder<T>> getServiceHolders(Type contract, Annotation... qualifiers) {
+        var entry = entries.get(contract);
+        if (entry == null) {
+            return new ArrayList<>();
+        }
+        if (qualifiers == null) {
+            return new ArrayList<>(cast(entry.holders));
+        }
+        var mask = 0L;
+        var unindexed = false;
+        for (var qualifier : qualifiers) {
+            var bit = qualifierBits.get(qualifier);
+            if (bit != null) {
+                mask |= bit;
+            } else {
+                unindexed = true;
+            }
+        }
+        var matches = new ArrayList<ServiceHolder<T>>();
+        for (var i = 0; i < entry.bits.length; i++) {
+            if (matches(entry, i, mask, unindexed, qualifiers)) {
+                matches.add(cast(entry.holders.get(i)));
+            }
+        }
+        return matches;
+    }
+
+    private boolean matches(Entry entry, int index, long mask, boolean unindexed, Annotation[] qualifiers) {
+        if ((entry.bits[index] & mask) != 0) {
+            return true;
+        }
+        if (!unindexed) {
+            return false;
+        }
+        var bindingQualifiers = entry.bindings.get(index).qualifiers;
+        for (var qualifier : qualifiers) {
+            if (!qualifierBits.containsKey(qualifier) && bindingQualifiers.contains(qualifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long bitsOf(Set<Annotation> qualifiers) {
+        var bits = 0L;
+        for (var qualifier : qualifiers) {
+            var bit = qualifierBits.get(qualifier);
+            if (bit != null) {
+                bits |= bit;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * An instance and its qualifiers. A binding to multiple contracts is shared by them.
+     */
+    static class Binding {
+        final Object instance;
+        final Set<Annotation> qualifiers;
+
+        Binding(Object instance, Set<Annotation> qualifiers) {
+            this.instance = instance;
+            this.qualifiers = qualifiers;
+        }
+    }
+
+    private static class Entry {
+        final List<Binding> bindings;
+        final List<ServiceHolder<?>> holders;
+        final long[] bits;
+        final List<Object> instances;
+
+        Entry(List<Binding> bindings, List<ServiceHolder<?>> holders, long[] bits, List<Object> instances) {
+            this.bindings = bindings;
+            this.holders = holders;
+            this.bits = bits;
+            this.instances = instances;
+        }
+    }
+}
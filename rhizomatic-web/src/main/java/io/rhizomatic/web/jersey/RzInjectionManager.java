@@ -9,7 +9,6 @@ import org.glassfish.jersey.internal.inject.Injectee;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.inject.InstanceBinding;
 import org.glassfish.jersey.internal.inject.ServiceHolder;
-import org.glassfish.jersey.internal.inject.ServiceHolderImpl;
 import org.glassfish.jersey.internal.inject.SupplierInstanceBinding;
 import org.glassfish.jersey.process.internal.RequestContext;
 import org.glassfish.jersey.process.internal.RequestScope;
@@ -18,16 +17,19 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Context;
 
 import static io.rhizomatic.kernel.spi.util.Cast.cast;
 import static java.lang.ThreadLocal.withInitial;
-import static java.util.Objects.requireNonNull;
 
 /**
  * Bridges Jersey injection and the system injection manager.
@@ -37,11 +39,21 @@ import static java.util.Objects.requireNonNull;
 public class RzInjectionManager implements InjectionManager, ContextInjectionResolver {
     private static final String CUSTOM_ANNOTATION = "org.glassfish.jersey.internal.inject.Custom";
 
-    // List of contracts to instances registered by Jersey. Jersey registers instances it creates via Service locators
-    // as well as instances resolved from the Guice injection manager.
-    private Map<Object, List<InstanceHolder>> holders = new HashMap<>();
+    // Types of request-scoped instances, indexed by slot. Slots are reused by requests handled on the same thread, so setting up the request context does not allocate.
+    private static final Type[] CONTEXT_TYPES = {ServletRequest.class, HttpServletRequest.class, ServletResponse.class, HttpServletResponse.class};
+    private static final int REQUEST = 0;
+    private static final int HTTP_REQUEST = 1;
+    private static final int RESPONSE = 2;
+    private static final int HTTP_RESPONSE = 3;
 
-    private ThreadLocal<Map<Type, Object>> contextInstances = withInitial(HashMap::new);
+    // Contracts to instances registered by Jersey, in registration order. Jersey registers instances it creates via Service locators
+    // as well as instances resolved from the Guice injection manager. Guarded by this.
+    private Map<Type, List<ContractIndex.Binding>> bindings = new LinkedHashMap<>();
+
+    // Index of the registered bindings used for lookups. Rebuilt on the next lookup after registrations, which happen when Jersey applications are initialized or reloaded.
+    private volatile ContractIndex index;
+
+    private ThreadLocal<Object[]> contextInstances = withInitial(() -> new Object[CONTEXT_TYPES.length]);
 
     public RzInjectionManager() {
         registerJerseyServices();
@@ -54,54 +66,54 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
     }
 
     /**
-     * Registers an instance scoped to the current request. Used for injection of custom {@code @Context} objects.
+     * Sets the servlet request and response of the current request. Used for injection of {@code @Context} objects.
      */
-    public <T> void registerRequestInstance(T instance, Class<T> type) {
-        requireNonNull(type);
+    public void enterRequest(ServletRequest request, ServletResponse response) {
         var context = contextInstances.get();
-        context.put(type, instance);
+        context[REQUEST] = request;
+        context[HTTP_REQUEST] = request instanceof HttpServletRequest ? request : null;
+        context[RESPONSE] = response;
+        context[HTTP_RESPONSE] = response instanceof HttpServletResponse ? response : null;
     }
 
     /**
-     * Removes request-scoped instances.
+     * Clears the request and response of the current request.
      */
-    public void clearRequestInstances() {
-        contextInstances.remove();
+    public void exitRequest() {
+        Arrays.fill(contextInstances.get(), null);
     }
 
+    @SuppressWarnings("unchecked")
     public void register(Binding binding) {
-        var qualifiers = binding.getQualifiers();
+        Set<Type> contracts = binding.getContracts();
+        Object instance;
         if (binding instanceof InstanceBinding) {
-            @SuppressWarnings("rawtypes") var instanceBinding = (InstanceBinding) binding;
-            for (var contract : binding.getContracts()) {
-                var list = holders.computeIfAbsent(contract, k -> new ArrayList<>());
-                @SuppressWarnings("unchecked") var holder = new InstanceHolder(instanceBinding.getService(), qualifiers);
-                list.add(holder);
-            }
+            instance = ((InstanceBinding<?>) binding).getService();
         } else if (binding instanceof ClassBinding) {
-            @SuppressWarnings("rawtypes") var classBinding = (ClassBinding) binding;
-            for (var contract : binding.getContracts()) {
-                try {
-                    if (contract.equals(RequestScope.class)) {
-                        continue;
-                    }
-                    var list = holders.computeIfAbsent(contract, k -> new ArrayList<>());
-                    var serviceClass = classBinding.getService();
-                    @SuppressWarnings("unchecked") var holder = new InstanceHolder(serviceClass.getConstructor().newInstance(), qualifiers);
-                    list.add(holder);
-                } catch (Throwable e) {
-                    // ignore WADL errors
-                }
+            if (contracts.size() == 1 && contracts.contains(RequestScope.class)) {
+                return;
+            }
+            try {
+                instance = ((ClassBinding<?>) binding).getService().getConstructor().newInstance();
+            } catch (Throwable e) {
+                return;  // ignore WADL errors
             }
         } else if (binding instanceof SupplierInstanceBinding) {
-            @SuppressWarnings("rawtypes") var supplierBinding = (SupplierInstanceBinding) binding;
-            for (var contract : binding.getContracts()) {
-                var list = holders.computeIfAbsent(contract, k -> new ArrayList<>());
-                @SuppressWarnings("unchecked") InstanceHolder holder = new InstanceHolder(supplierBinding.getSupplier().get(), qualifiers);
-                list.add(holder);
+            instance = ((SupplierInstanceBinding<?>) binding).getSupplier().get();
+        } else {
+            return;
+        }
+        // the instance is shared by all contracts of the binding
+        var shared = new ContractIndex.Binding(instance, (Set<Annotation>) binding.getQualifiers());
+        synchronized (this) {
+            for (var contract : contracts) {
+                if (contract.equals(RequestScope.class)) {
+                    continue;
+                }
+                bindings.computeIfAbsent(contract, k -> new ArrayList<>()).add(shared);
             }
+            index = null;
         }
-
     }
 
     public void register(Iterable<Binding> descriptors) {
@@ -138,33 +150,12 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
         }
     }
 
-    @SuppressWarnings("unchecked")
     public <T> List<ServiceHolder<T>> getAllServiceHolders(Class<T> contract, Annotation... qualifiers) {
         if (qualifiers != null && qualifiers.length == 1 && CUSTOM_ANNOTATION.equals(qualifiers[0].annotationType().getName())) {
             // ignore the custom annotation
             qualifiers = null;
         }
-        var list = holders.get(contract);
-        if (list == null || list.isEmpty()) {
-            return Collections.emptyList();
-        }
-        var serviceHolders = new ArrayList<ServiceHolder<T>>();
-        for (var holder : list) {
-            if (qualifiers == null) {
-                var serviceHolder = new ServiceHolderImpl<>((T) holder.instance, Set.of(contract));
-                serviceHolders.add(serviceHolder);
-            } else {
-                for (var qualifier : qualifiers) {
-                    if (holder.qualifiers.contains(qualifier)) {
-                        ServiceHolder<T> serviceHolder = new ServiceHolderImpl<>((T) holder.instance, Set.of(contract));
-                        serviceHolders.add(serviceHolder);
-                        break;
-                    }
-                }
-
-            }
-        }
-        return serviceHolders;
+        return index().getServiceHolders(contract, qualifiers);
     }
 
     public <T> T getInstance(Class<T> contract, Annotation... qualifiers) {
@@ -182,13 +173,8 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
         return getInstance((Type) contract);
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T getInstance(Type contract) {
-        var list = holders.get(contract);
-        if (list == null || list.isEmpty()) {
-            return null;
-        }
-        return (T) list.get(0).instance;
+        return index().getInstance(contract);
     }
 
     public Object getInstance(ForeignDescriptor descriptor) {
@@ -200,13 +186,7 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
     }
 
     public <T> List<T> getAllInstances(Type contract) {
-        T t = getInstance(contract);
-        var list = new ArrayList<T>();
-        if (t == null) {
-            return list;
-        }
-        list.add(t);
-        return list;
+        return index().getInstances(contract);
     }
 
     public void inject(Object instance) {
@@ -221,7 +201,12 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
     @Override
     public Object resolve(Injectee injectee) {
         var type = injectee.getRequiredType();
-        return contextInstances.get().get(type);
+        for (var slot = 0; slot < CONTEXT_TYPES.length; slot++) {
+            if (CONTEXT_TYPES[slot] == type) {
+                return contextInstances.get()[slot];
+            }
+        }
+        return null;
     }
 
     @Override
@@ -240,9 +225,21 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
     }
 
     private void registerJerseyServices() {
-        var list = new ArrayList<InstanceHolder>();
-        list.add(new InstanceHolder(new RzRequestScope(), Collections.emptySet()));
-        holders.put(RequestScope.class, list);
+        bindings.put(RequestScope.class, new ArrayList<>(List.of(new ContractIndex.Binding(new RzRequestScope(), Set.of()))));
+    }
+
+    private ContractIndex index() {
+        var current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new ContractIndex(bindings);
+                    index = current;
+                }
+            }
+        }
+        return current;
     }
 
     private static class RzRequestScope extends RequestScope {
@@ -260,15 +257,4 @@ public class RzInjectionManager implements InjectionManager, ContextInjectionRes
         }
     }
 
-    private static class InstanceHolder {
-        private Set<Annotation> qualifiers;
-        private Object instance;
-
-        public InstanceHolder(Object instance, Set<Annotation> qualifiers) {
-            this.qualifiers = qualifiers;
-            this.instance = instance;
-        }
-    }
-
-
 }
@@ -0,0 +1,70 @@
+package io.rhizomatic.web.jersey;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+
+/**
+ * A Jackson provider that uses the ObjectMapper supplied by an application {@code ContextResolver<ObjectMapper>} provider. The mapper is resolved when the provider is
+ * created and cached until {@link #refresh()} is called, so lookups made when reading and writing entities do not scan providers. The readers and writers Jackson builds
+ * from the mapper are cached per type and annotations by the base provider.
+ */
+public class RzJacksonProvider extends JacksonJsonProvider {
+    private Supplier<Collection<?>> providers;
+    private volatile @Nullable ObjectMapper mapper;
+
+    /**
+     * Constructor.
+     *
+     * @param providers supplies the application providers
+     */
+    public RzJacksonProvider(Supplier<Collection<?>> providers) {
+        this.providers = providers;
+        refresh();
+    }
+
+    /**
+     * Resolves the application mapper again and clears reader and writer configurations built with the previous mapper. Called when application providers change.
+     */
+    public void refresh() {
+        mapper = resolveMapper();
+        // the endpoint caches are accessed as maps since their type is in a package the Jackson module does not export
+        synchronized (_readers) {
+            ((Map<?, ?>) _readers).clear();
+        }
+        synchronized (_writers) {
+            ((Map<?, ?>) _writers).clear();
+        }
+    }
+
+    protected ObjectMapper _locateMapperViaProvider(Class<?> type, MediaType mediaType) {
+        var mapper = this.mapper;
+        // if the application does not supply a mapper, fall back to the base provider's lookup
+        return mapper != null ? mapper : super._locateMapperViaProvider(type, mediaType);
+    }
+
+    @Nullable
+    private ObjectMapper resolveMapper() {
+        for (var provider : providers.get()) {
+            if (!(provider instanceof ContextResolver)) {
+                continue;
+            }
+            for (var interfaze : provider.getClass().getGenericInterfaces()) {
+                if (interfaze instanceof ParameterizedType) {
+                    var parameterizedType = (ParameterizedType) interfaze;
+                    if (parameterizedType.getRawType().equals(ContextResolver.class) && parameterizedType.getActualTypeArguments()[0].equals(ObjectMapper.class)) {
+                        return (ObjectMapper) ((ContextResolver<?>) provider).getContext(Object.class);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
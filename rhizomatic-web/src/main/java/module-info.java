@@ -7,12 +7,16 @@ import io.rhizomatic.web.WebSubsystem;
 open module io.rhizomatic.web {
     requires io.rhizomatic.api;
     requires io.rhizomatic.kernel;
+    requires org.jetbrains.annotations;
 
     requires java.ws.rs;
     requires javax.servlet.api;
     requires jetty.server;
     requires jetty.util;
     requires jetty.servlet;
+    requires http2.server;
+    requires http2.common;
+    requires jetty.alpn.server;
     requires jersey.container.servlet.core;
     requires jersey.server;
     requires jersey.common;
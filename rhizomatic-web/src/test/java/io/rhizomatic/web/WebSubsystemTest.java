@@ -0,0 +1,245 @@
+package io.rhizomatic.web;
+
+import io.rhizomatic.api.web.WebApp;
+import io.rhizomatic.kernel.spi.inject.InstanceManager;
+import io.rhizomatic.kernel.spi.scan.ScanIndex;
+import io.rhizomatic.web.http.TestSubsystemContext;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+
+/**
+ *
+ */
+public class WebSubsystemTest {
+    private WebSubsystem subsystem;
+    private int port;
+    private Path contentRoot;
+
+    @Test
+    public void verifyHttp2Cleartext() throws Exception {
+        start(Map.of("http2.cleartext", true));
+        var client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), null);
+        try {
+            client.start();
+
+            var endpoint = client.GET("http://localhost:" + port + "/api/test");
+            Assertions.assertEquals(200, endpoint.getStatus());
+            Assertions.assertEquals(HttpVersion.HTTP_2, endpoint.getVersion());
+            Assertions.assertEquals("{\"message\":\"test\"}", endpoint.getContentAsString());
+
+            var page = client.GET("http://localhost:" + port + "/app/some/route");
+            Assertions.assertEquals(200, page.getStatus());
+            Assertions.assertEquals(HttpVersion.HTTP_2, page.getVersion());
+            Assertions.assertEquals("<html>app</html>", page.getContentAsString());
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    public void verifyEndpointCompression() throws Exception {
+        start(Map.of());
+
+        var compressed = get("/api/test/large", "gzip");
+        Assertions.assertEquals("gzip", compressed.getContentEncoding());
+        var content = new String(new GZIPInputStream(compressed.getInputStream()).readAllBytes(), StandardCharsets.UTF_8);
+        Assertions.assertEquals("{\"message\":\"" + "x".repeat(4096) + "\"}", content);
+
+        Assertions.assertNull(get("/api/test/large", null).getContentEncoding());
+        Assertions.assertNull(get("/api/test", "gzip").getContentEncoding());  // below the minimum size
+    }
+
+    @Test
+    public void verifyPrecompressedContent() throws Exception {
+        var script = "console.log('app');\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+        var gzipped = new ByteArrayOutputStream();
+        try (var stream = new GZIPOutputStream(gzipped)) {
+            stream.write(script);
+        }
+        var brotli = new byte[]{1, 2, 3, 4};  // the handler does not decode content, so any bytes identify the file
+        start(Map.of());
+        Files.write(contentRoot.resolve("app.js"), script);
+        Files.write(contentRoot.resolve("app.js.gz"), gzipped.toByteArray());
+        Files.write(contentRoot.resolve("app.js.br"), brotli);
+
+        var br = get("/app/app.js", "gzip, br");
+        Assertions.assertEquals("br", br.getContentEncoding());
+        Assertions.assertTrue(br.getContentType().startsWith("application/javascript"));
+        Assertions.assertArrayEquals(brotli, br.getInputStream().readAllBytes());
+
+        var gzip = get("/app/app.js", "gzip");
+        Assertions.assertEquals("gzip", gzip.getContentEncoding());
+        Assertions.assertArrayEquals(gzipped.toByteArray(), gzip.getInputStream().readAllBytes());
+
+        var identity = get("/app/app.js", null);
+        Assertions.assertNull(identity.getContentEncoding());
+        Assertions.assertArrayEquals(script, identity.getInputStream().readAllBytes());
+    }
+
+    @Test
+    public void verifyContentCaching() throws Exception {
+        start(Map.of());
+        Files.writeString(contentRoot.resolve("main.3b2f1c9e8d7a6b5c.js"), "console.log('app');");
+
+        var page = get("/app/index.html", null);
+        var etag = page.getHeaderField("ETag");
+        Assertions.assertTrue(etag.startsWith("\""));
+        Assertions.assertEquals("no-cache", page.getHeaderField("Cache-Control"));
+        Assertions.assertEquals("<html>app</html>", new String(page.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        var byTag = open("/app/index.html");
+        byTag.setRequestProperty("If-None-Match", "\"other\", " + etag);
+        Assertions.assertEquals(304, byTag.getResponseCode());
+        Assertions.assertEquals(etag, byTag.getHeaderField("ETag"));
+
+        var byDate = open("/app/index.html");
+        byDate.setRequestProperty("If-Modified-Since", page.getHeaderField("Last-Modified"));
+        Assertions.assertEquals(304, byDate.getResponseCode());
+
+        var bundle = get("/app/main.3b2f1c9e8d7a6b5c.js", null);
+        Assertions.assertEquals("public, max-age=31536000, immutable", bundle.getHeaderField("Cache-Control"));
+
+        // the environment is not production, so modified files are reloaded
+        var index = contentRoot.resolve("index.html");
+        Files.writeString(index, "<html>changed</html>");
+        Files.setLastModifiedTime(index, FileTime.fromMillis(page.getLastModified() + 2000));
+        var changed = open("/app/index.html");
+        changed.setRequestProperty("If-None-Match", etag);
+        Assertions.assertEquals(200, changed.getResponseCode());
+        Assertions.assertNotEquals(etag, changed.getHeaderField("ETag"));
+        Assertions.assertEquals("<html>changed</html>", new String(changed.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void verifySpaRewrites() throws Exception {
+        start(Map.of("http.spa.excluded", "/docs", "http.spa.assets", ".*\\.(js|css)", "http.compression.min.size", 0));
+        Files.writeString(contentRoot.resolve("app.js"), "console.log('app');");
+
+        var index = get("/app/index.html", "gzip");
+        Assertions.assertEquals("gzip", index.getContentEncoding());
+        Assertions.assertEquals("Accept-Encoding", index.getHeaderField("Vary"));
+
+        // deep links are served the cached index page with the same validators
+        var deepLink = get("/app/orders/v1.2", "gzip");
+        Assertions.assertEquals(index.getHeaderField("ETag"), deepLink.getHeaderField("ETag"));
+        var content = new String(new GZIPInputStream(deepLink.getInputStream()).readAllBytes(), StandardCharsets.UTF_8);
+        Assertions.assertEquals("<html>app</html>", content);
+
+        var identity = get("/app/orders", null);
+        Assertions.assertNull(identity.getContentEncoding());
+        Assertions.assertNotEquals(index.getHeaderField("ETag"), identity.getHeaderField("ETag"));
+
+        Assertions.assertEquals("console.log('app');", new String(get("/app/app.js", null).getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(404, open("/app/docs/missing").getResponseCode());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (subsystem != null) {
+            subsystem.shutdown();
+        }
+    }
+
+    private void start(Map<String, Object> settings) throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        contentRoot = Files.createTempDirectory("rz-web");
+        Files.writeString(contentRoot.resolve("index.html"), "<html>app</html>");
+
+        var configuration = new HashMap<>(settings);
+        configuration.put("http.port", port);
+        var context = new TestSubsystemContext(configuration, new WebApp("/app", contentRoot));
+        context.registerService(InstanceManager.class, new TestInstanceManager(new TestResource()));
+
+        subsystem = new WebSubsystem();
+        subsystem.instantiate(context);
+        subsystem.applicationInitialize(context);
+        subsystem.start(context);
+    }
+
+    private HttpURLConnection get(String path, @Nullable String acceptEncoding) throws IOException {
+        var connection = open(path);
+        if (acceptEncoding != null) {
+            connection.setRequestProperty("Accept-Encoding", acceptEncoding);
+        }
+        Assertions.assertEquals(200, connection.getResponseCode());
+        return connection;
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+    }
+
+    @javax.ws.rs.Path("test")
+    public static class TestResource {
+
+        @GET
+        @Produces("application/json")
+        public Map<String, String> get() {
+            return Map.of("message", "test");
+        }
+
+        @GET
+        @javax.ws.rs.Path("large")
+        @Produces("application/json")
+        public Map<String, String> getLarge() {
+            return Map.of("message", "x".repeat(4096));
+        }
+    }
+
+    private static class TestInstanceManager implements InstanceManager {
+        private Object resource;
+
+        TestInstanceManager(Object resource) {
+            this.resource = resource;
+        }
+
+        public void register(Class<?> type, Object instance) {
+        }
+
+        public void wire(ScanIndex scanIndex) {
+        }
+
+        public void extend(ScanIndex scanIndex) {
+        }
+
+        public void startInstances() {
+        }
+
+        public <T> @Nullable T resolve(Class<T> type) {
+            return null;
+        }
+
+        public <T> Set<T> resolveAll(Class<T> type) {
+            return Set.of();
+        }
+
+        public Set<?> resolveQualifiedTypes(Class<?> qualifier) {
+            return qualifier == javax.ws.rs.Path.class ? Set.of(resource) : Set.of();
+        }
+    }
+}
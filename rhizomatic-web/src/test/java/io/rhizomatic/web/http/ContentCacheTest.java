@@ -0,0 +1,88 @@
+package io.rhizomatic.web.http;
+
+import org.eclipse.jetty.http.CompressedContentFormat;
+import org.eclipse.jetty.util.resource.Resource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ *
+ */
+public class ContentCacheTest {
+
+    @Test
+    public void verifyEvictsLeastRecentlyAccessed() throws Exception {
+        var root = Files.createTempDirectory("rz-content");
+        for (var name : new String[]{"a.txt", "b.txt", "c.txt"}) {
+            Files.writeString(root.resolve(name), "x".repeat(40));
+        }
+        var base = Resource.newResource(root.toFile());
+        var cache = new ContentCache(100, 100, true, false, new CompressedContentFormat[0], Set.of(), 0, -1);
+
+        var a = cache.get("/a.txt", base, "/a.txt");
+        cache.get("/b.txt", base, "/b.txt");
+        Assertions.assertSame(a, cache.get("/a.txt", base, "/a.txt"));
+        Assertions.assertEquals(80, cache.getSize());
+
+        cache.get("/c.txt", base, "/c.txt");  // evicts b, which was accessed least recently
+        Assertions.assertEquals(80, cache.getSize());
+        Assertions.assertSame(a, cache.get("/a.txt", base, "/a.txt"));
+
+        cache.invalidateAll();
+        Assertions.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void verifyCompressesOnLoad() throws Exception {
+        var root = Files.createTempDirectory("rz-content");
+        var html = "<html>" + "content ".repeat(100) + "</html>";
+        Files.writeString(root.resolve("index.html"), html);
+        Files.writeString(root.resolve("small.html"), "<html></html>");
+        var base = Resource.newResource(root.toFile());
+        var cache = new ContentCache(10000, 10000, true, true, new CompressedContentFormat[]{CompressedContentFormat.GZIP}, Set.of("text/html"), 100, 9);
+
+        var content = cache.get("/index.html", base, "/index.html");
+        Assertions.assertEquals(1, content.encoded.size());
+        var gzip = content.encoded.get(0);
+        Assertions.assertEquals("gzip", gzip.encoding);
+        Assertions.assertTrue(gzip.length < html.length());
+        Assertions.assertNotEquals(content.identity.etag, gzip.etag);
+        var bytes = new byte[(int) gzip.length];
+        gzip.content.duplicate().get(bytes);
+        Assertions.assertEquals(html, new String(new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes(), StandardCharsets.UTF_8));
+        Assertions.assertSame(content, cache.get("/index.html", base, "/index.html"));  // the derived variant is current
+
+        Assertions.assertTrue(cache.get("/small.html", base, "/small.html").encoded.isEmpty());
+    }
+
+    @Test
+    public void verifyRevalidation() throws Exception {
+        var root = Files.createTempDirectory("rz-content");
+        var file = root.resolve("app.js");
+        Files.writeString(file, "one");
+        var base = Resource.newResource(root.toFile());
+        var cache = new ContentCache(1000, 1000, false, true, new CompressedContentFormat[]{CompressedContentFormat.GZIP}, Set.of(), 0, -1);
+
+        var first = cache.get("/app.js", base, "/app.js");
+        Assertions.assertNotNull(first);
+        Assertions.assertTrue(first.encoded.isEmpty());
+        Assertions.assertTrue(first.identity.etag.startsWith("\""));
+
+        Files.writeString(file, "two");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(first.identity.lastModified + 2000));
+        var second = cache.get("/app.js", base, "/app.js");
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNotEquals(first.identity.etag, second.identity.etag);
+        Assertions.assertEquals(3, cache.getSize());
+
+        Assertions.assertNull(cache.get("/missing.js", base, "/missing.js"));
+        Assertions.assertNull(cache.get("/", base, "/"));
+    }
+}
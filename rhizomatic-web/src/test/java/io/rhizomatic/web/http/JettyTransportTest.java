@@ -0,0 +1,124 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.kernel.spi.util.VirtualThreads;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Verifies blocking endpoints served by the thread pool and by virtual threads. More requests block concurrently than the pool has threads, so with platform threads
+ * requests queue for a worker.
+ */
+public class JettyTransportTest {
+    private static final int MAX_THREADS = 8;
+    private static final int REQUESTS = 4 * MAX_THREADS;
+    private static final long BLOCK_MILLIS = 500;
+
+    @Test
+    public void verifyBlockingRequestsWithPlatformThreads() throws Exception {
+        var handler = new BlockingHandler();
+        run(false, handler);
+
+        Assertions.assertTrue(handler.maxConcurrent.get() < MAX_THREADS, "Concurrent requests: " + handler.maxConcurrent.get());
+        Assertions.assertFalse(handler.virtual.get());
+    }
+
+    @Test
+    public void verifyBlockingRequestsWithVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(VirtualThreads.isAvailable(), "Virtual threads are not supported by the runtime");
+        var handler = new BlockingHandler();
+        run(true, handler);
+
+        Assertions.assertTrue(handler.maxConcurrent.get() > MAX_THREADS, "Concurrent requests: " + handler.maxConcurrent.get());  // not limited by the pool size
+        Assertions.assertFalse(handler.platform.get());
+    }
+
+    private void run(boolean virtual, BlockingHandler handler) throws Exception {
+        int port;
+        try (var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        var configuration = Map.<String, Object>of("http.port", port,
+                                                   "http.virtual.threads", virtual,
+                                                   "http.threads.max", MAX_THREADS,
+                                                   "http.acceptors", 1,
+                                                   "http.selectors", 1);
+        var context = new TestSubsystemContext(configuration);
+        var transport = new JettyTransport();
+        transport.initialize(context);
+        var contextHandler = new ContextHandler("/test");
+        contextHandler.setHandler(handler);
+        transport.registerHandler(contextHandler);
+        transport.start(context);
+
+        var clients = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            var futures = new ArrayList<Future<Integer>>();
+            for (var i = 0; i < REQUESTS; i++) {
+                futures.add(clients.submit(() -> {
+                    var connection = (HttpURLConnection) new URL("http://localhost:" + port + "/test").openConnection();
+                    try {
+                        return connection.getResponseCode();
+                    } finally {
+                        connection.disconnect();
+                    }
+                }));
+            }
+            for (var future : futures) {
+                Assertions.assertEquals(200, future.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdownNow();
+            transport.shutdown();
+        }
+    }
+
+    /**
+     * Blocks each request until all requests are being handled or a timeout elapses, recording the number of requests handled concurrently and the thread types.
+     */
+    private static class BlockingHandler extends AbstractHandler {
+        final CountDownLatch arrived = new CountDownLatch(REQUESTS);
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicBoolean virtual = new AtomicBoolean();
+        final AtomicBoolean platform = new AtomicBoolean();
+
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            if (VirtualThreads.isVirtual(Thread.currentThread())) {
+                virtual.set(true);
+            } else {
+                platform.set(true);
+            }
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                arrived.countDown();
+                arrived.await(BLOCK_MILLIS, TimeUnit.MILLISECONDS);  // simulates a blocking call to a remote service
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            response.setStatus(200);
+            response.getWriter().write("ok");
+            baseRequest.setHandled(true);
+        }
+    }
+}
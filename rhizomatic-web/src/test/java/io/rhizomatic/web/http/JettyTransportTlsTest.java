@@ -0,0 +1,140 @@
+package io.rhizomatic.web.http;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Verifies the HTTPS connector using a self-signed keystore generated for the test.
+ */
+public class JettyTransportTlsTest {
+    private static final String PASSWORD = "changeit";
+
+    private static JettyTransport transport;
+    private static int httpsPort;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        var keyStore = Files.createTempDirectory("rz-tls").resolve("keystore.p12");
+        var keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        var process = new ProcessBuilder(keytool, "-genkeypair", "-alias", "rz", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1", "-dname", "CN=localhost",
+                                         "-storetype", "PKCS12", "-keystore", keyStore.toString(), "-storepass", PASSWORD, "-keypass", PASSWORD).inheritIO().start();
+        Assertions.assertEquals(0, process.waitFor());
+
+        var httpPort = freePort();
+        httpsPort = freePort();
+        var configuration = Map.<String, Object>of("http.port", httpPort,
+                                                   "https.enabled", true,
+                                                   "https.port", httpsPort,
+                                                   "https.keystore.path", keyStore.toString(),
+                                                   "https.keystore.password", PASSWORD,
+                                                   "https.session.cache.size", 100,
+                                                   "https.session.timeout", 600);
+        var context = new TestSubsystemContext(configuration);
+        transport = new JettyTransport();
+        transport.initialize(context);
+        var handler = new ContextHandler("/test");
+        handler.setHandler(new ProtocolHandler());
+        transport.registerHandler(handler);
+        transport.start(context);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        transport.shutdown();
+    }
+
+    @Test
+    public void verifyHttp2Negotiated() throws Exception {
+        var client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), new SslContextFactory(true));
+        try {
+            client.start();
+            var response = client.GET("https://localhost:" + httpsPort + "/test");
+            Assertions.assertEquals(HttpVersion.HTTP_2, response.getVersion());
+            Assertions.assertEquals("HTTP/2.0 https", response.getContentAsString());
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    public void verifyHttp11Fallback() throws Exception {
+        var client = new HttpClient(new SslContextFactory(true));
+        try {
+            client.start();
+            var response = client.GET("https://localhost:" + httpsPort + "/test");
+            Assertions.assertEquals(HttpVersion.HTTP_1_1, response.getVersion());
+            Assertions.assertEquals("HTTP/1.1 https", response.getContentAsString());
+        } finally {
+            client.stop();
+        }
+    }
+
+    @Test
+    public void verifySessionResumption() throws Exception {
+        var sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, new TrustManager[]{new TrustAllManager()}, new SecureRandom());
+        var first = handshake(sslContext);
+        var second = handshake(sslContext);
+        Assertions.assertEquals(first, second);
+    }
+
+    /**
+     * Performs a TLS 1.2 handshake and returns the creation time of the session, which is only preserved when the session is resumed.
+     */
+    private long handshake(SSLContext sslContext) throws IOException {
+        try (var socket = (SSLSocket) sslContext.getSocketFactory().createSocket("localhost", httpsPort)) {
+            socket.setEnabledProtocols(new String[]{"TLSv1.2"});
+            socket.startHandshake();
+            return socket.getSession().getCreationTime();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static class ProtocolHandler extends AbstractHandler {
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.getWriter().write(request.getProtocol() + " " + request.getScheme());
+            baseRequest.setHandled(true);
+        }
+    }
+
+    private static class TrustAllManager implements X509TrustManager {
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.rhizomatic.web.http;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ */
+public class RewriteHandlerTest {
+
+    @Test
+    public void verifyExcludedPrefixMatchesPathSegments() {
+        var handler = new RewriteHandler("/index.html", new String[]{"/api", "/static/"}, null);
+
+        Assertions.assertEquals("/api", handler.calculateTarget("/api"));
+        Assertions.assertEquals("/api/users", handler.calculateTarget("/api/users"));
+        Assertions.assertEquals("/static/app", handler.calculateTarget("/static/app"));
+
+        // routes that share a prefix with an excluded path are rewritten
+        Assertions.assertEquals("/index.html", handler.calculateTarget("/apiary"));
+        Assertions.assertEquals("/index.html", handler.calculateTarget("/api-docs"));
+        Assertions.assertEquals("/index.html", handler.calculateTarget("/app/users"));
+    }
+
+    @Test
+    public void verifyAssetsAreNotRewritten() {
+        var handler = new RewriteHandler();
+
+        Assertions.assertEquals("/main.js", handler.calculateTarget("/main.js"));
+        Assertions.assertEquals("/index.html", handler.calculateTarget("/users/1"));
+    }
+}
@@ -0,0 +1,56 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.api.Monitor;
+import io.rhizomatic.api.web.WebApp;
+import io.rhizomatic.kernel.spi.layer.LoadedLayer;
+import io.rhizomatic.kernel.spi.subsystem.SubsystemContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.rhizomatic.kernel.spi.util.Cast.cast;
+
+/**
+ * A subsystem context that provides configuration, web apps, and services registered by the test or by subsystems.
+ */
+public class TestSubsystemContext implements SubsystemContext {
+    private Map<String, Object> configuration;
+    private List<WebApp> webApps;
+    private Map<Class<?>, Object> services = new HashMap<>();
+
+    public TestSubsystemContext(Map<String, Object> configuration, WebApp... webApps) {
+        this.configuration = configuration;
+        this.webApps = List.of(webApps);
+    }
+
+    public Monitor getMonitor() {
+        return new Monitor() {
+        };
+    }
+
+    public List<LoadedLayer> getLoadedLayers() {
+        return List.of();
+    }
+
+    public List<WebApp> getWebApps() {
+        return webApps;
+    }
+
+    public <T> T getConfiguration(Class<T> type, String key) {
+        return cast(configuration.get(key));
+    }
+
+    public <T> void registerService(Class<T> type, T service) {
+        services.put(type, service);
+    }
+
+    public <T> T resolve(Class<T> type) {
+        return type.cast(services.get(type));
+    }
+
+    public <T> List<T> resolveAll(Class<T> type) {
+        var service = resolve(type);
+        return service == null ? List.of() : List.of(service);
+    }
+}
@@ -0,0 +1,55 @@
+package io.rhizomatic.web.http;
+
+import io.rhizomatic.api.RhizomaticException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+/**
+ *
+ */
+public class TransportConfigurationTest {
+
+    @Test
+    public void verifyDefaults() {
+        var configuration = new TransportConfiguration(new TestSubsystemContext(Map.of()));
+        Assertions.assertEquals(8080, configuration.port);
+        Assertions.assertEquals(-1, configuration.acceptors);
+        Assertions.assertEquals(-1, configuration.getReservedThreads());
+        Assertions.assertFalse(configuration.virtualThreads);
+        Assertions.assertTrue(configuration.compressionEnabled);
+        Assertions.assertTrue(configuration.precompressed);
+    }
+
+    @Test
+    public void verifyStringValues() {
+        var configuration = new TransportConfiguration(new TestSubsystemContext(Map.of("http.port", "9090", "http.threads.max", " 50 ", "http.acceptors", "2", "http.selectors", "4")));
+        Assertions.assertEquals(9090, configuration.port);
+        Assertions.assertEquals(50, configuration.maxThreads);
+        Assertions.assertEquals(6, configuration.getReservedThreads());
+    }
+
+    @Test
+    public void verifyTlsLists() {
+        var configuration = new TransportConfiguration(new TestSubsystemContext(Map.of("https.protocols", "TLSv1.3", "https.ciphers", "TLS_AES_128_GCM_SHA256, TLS_AES_256_GCM_SHA384")));
+        Assertions.assertArrayEquals(new String[]{"TLSv1.3"}, configuration.protocols);
+        Assertions.assertArrayEquals(new String[]{"TLS_AES_128_GCM_SHA256", "TLS_AES_256_GCM_SHA384"}, configuration.ciphers);
+        Assertions.assertTrue(configuration.httpsHttp2);
+        Assertions.assertNull(configuration.sessionTickets);
+    }
+
+    @Test
+    public void verifyInvalidValues() {
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.port", 70000))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.idle.timeout", "soon"))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.threads.min", 20, "http.threads.max", 10))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.selectors", 0))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.threads.max", 4, "http.acceptors", 1, "http.selectors", 3))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("http.compression.level", 10))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("https.enabled", true))));
+        Assertions.assertThrows(RhizomaticException.class, () -> new TransportConfiguration(new TestSubsystemContext(Map.of("https.enabled", "true",
+                                                                                                                           "https.keystore.path", "missing.p12",
+                                                                                                                           "https.keystore.password", "secret"))));
+    }
+}
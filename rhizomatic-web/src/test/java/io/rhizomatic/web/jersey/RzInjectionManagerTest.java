@@ -0,0 +1,179 @@
+package io.rhizomatic.web.jersey;
+
+import io.rhizomatic.api.testing.Allocations;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.internal.inject.Bindings;
+import org.glassfish.jersey.internal.inject.CustomAnnotationLiteral;
+import org.glassfish.jersey.internal.inject.InjecteeImpl;
+import org.glassfish.jersey.message.internal.MessagingBinders;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.Collections;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import static javax.ws.rs.RuntimeType.SERVER;
+
+/**
+ *
+ */
+public class RzInjectionManagerTest {
+    private static final int ITERATIONS = 1_000_000;
+    private static final int REQUESTS = 10;
+    private static final First FIRST = TestService.class.getAnnotation(First.class);
+    private static final Second SECOND = TestService.class.getAnnotation(Second.class);
+
+    private RzInjectionManager manager = new RzInjectionManager();
+    private HttpServletRequest request = proxy(HttpServletRequest.class);
+    private HttpServletResponse response = proxy(HttpServletResponse.class);
+
+    @Test
+    public void verifyResolveRequestInstances() {
+        var injectee = new InjecteeImpl();
+        manager.enterRequest(request, response);
+
+        injectee.setRequiredType(HttpServletRequest.class);
+        Assertions.assertSame(request, manager.resolve(injectee));
+        injectee.setRequiredType(ServletRequest.class);
+        Assertions.assertSame(request, manager.resolve(injectee));
+        injectee.setRequiredType(HttpServletResponse.class);
+        Assertions.assertSame(response, manager.resolve(injectee));
+        injectee.setRequiredType(ServletResponse.class);
+        Assertions.assertSame(response, manager.resolve(injectee));
+        injectee.setRequiredType(String.class);
+        Assertions.assertNull(manager.resolve(injectee));
+
+        manager.exitRequest();
+        injectee.setRequiredType(HttpServletRequest.class);
+        Assertions.assertNull(manager.resolve(injectee));
+    }
+
+    @Test
+    public void verifyNoAllocationPerRequest() throws Exception {
+        var injectee = new InjecteeImpl();
+        injectee.setRequiredType(HttpServletRequest.class);
+
+        var allocated = Allocations.measure(() -> simulateRequests(injectee));
+
+        // allow for allocations made by the measurement itself
+        Assertions.assertTrue(allocated < 1024, "Allocated bytes: " + allocated);
+    }
+
+    @Test
+    public void verifyInstanceSharedByContracts() {
+        manager.register(Bindings.service(TestService.class).to(Runnable.class).to(AutoCloseable.class));
+
+        Runnable runnable = manager.getInstance(Runnable.class);
+        Assertions.assertNotNull(runnable);
+        Assertions.assertSame(runnable, manager.getInstance(AutoCloseable.class));
+        Assertions.assertSame(runnable, manager.getAllInstances(AutoCloseable.class).get(0));
+    }
+
+    @Test
+    public void verifyQualifiedServiceHolders() {
+        var first = new TestService();
+        var second = new TestService();
+        manager.register(Bindings.service(first).to(Runnable.class).qualifiedBy(FIRST));
+        manager.register(Bindings.service(second).to(Runnable.class).qualifiedBy(SECOND));
+
+        var holders = manager.getAllServiceHolders(Runnable.class, SECOND);
+        Assertions.assertEquals(1, holders.size());
+        Assertions.assertSame(second, holders.get(0).getInstance());
+
+        holders = manager.getAllServiceHolders(Runnable.class, FIRST, SECOND);
+        Assertions.assertEquals(2, holders.size());
+        Assertions.assertSame(first, holders.get(0).getInstance());
+
+        Assertions.assertEquals(2, manager.getAllServiceHolders(Runnable.class, CustomAnnotationLiteral.INSTANCE).size());
+        Assertions.assertTrue(manager.getAllServiceHolders(Runnable.class, Retention.class.getAnnotation(Retention.class)).isEmpty());
+    }
+
+    @Test
+    public void verifySharedServiceHolders() {
+        manager.register(Bindings.service(new TestService()).to(Runnable.class));
+
+        var holder = manager.getAllServiceHolders(Runnable.class, CustomAnnotationLiteral.INSTANCE).get(0);
+        Assertions.assertSame(holder, manager.getAllServiceHolders(Runnable.class, CustomAnnotationLiteral.INSTANCE).get(0));
+
+        // returned lists are copies
+        manager.getAllInstances(Runnable.class).add(new TestService());
+        Assertions.assertEquals(1, manager.getAllInstances(Runnable.class).size());
+
+        // registrations made after lookups are visible
+        manager.register(Bindings.service(new TestService()).to(Runnable.class));
+        Assertions.assertEquals(2, manager.getAllServiceHolders(Runnable.class, CustomAnnotationLiteral.INSTANCE).size());
+    }
+
+    @Test
+    public void verifyRequestDispatch() throws Exception {
+        var previous = RzInjectionManagerFactory.INSTANCE;
+        RzInjectionManagerFactory.INSTANCE = manager;
+        try {
+            manager.register(new MessagingBinders.MessageBodyProviders(Collections.emptyMap(), SERVER));
+            var handler = new ApplicationHandler(new ResourceConfig(TestResource.class));
+            Assertions.assertSame(manager, handler.getInjectionManager());
+
+            var base = URI.create("http://localhost/");
+            var uri = URI.create("http://localhost/test");
+            for (var i = 0; i < REQUESTS; i++) {
+                var request = new ContainerRequest(base, uri, "GET", null, new MapPropertiesDelegate(), handler.getConfiguration());
+                Assertions.assertEquals(204, handler.apply(request).get().getStatus());
+            }
+        } finally {
+            RzInjectionManagerFactory.INSTANCE = previous;
+        }
+    }
+
+    private void simulateRequests(InjecteeImpl injectee) {
+        for (var i = 0; i < ITERATIONS; i++) {
+            manager.enterRequest(request, response);
+            if (manager.resolve(injectee) != request) {
+                throw new AssertionError();
+            }
+            manager.exitRequest();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> null));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface First {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface Second {
+    }
+
+    @First
+    @Second
+    public static class TestService implements Runnable, AutoCloseable {
+        public void run() {
+        }
+
+        public void close() {
+        }
+    }
+
+    @Path("test")
+    public static class TestResource {
+        @GET
+        public Response get() {
+            return Response.noContent().build();
+        }
+    }
+}
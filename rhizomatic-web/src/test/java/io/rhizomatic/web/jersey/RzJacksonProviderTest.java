@@ -0,0 +1,83 @@
+package io.rhizomatic.web.jersey;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.ext.ContextResolver;
+
+/**
+ *
+ */
+public class RzJacksonProviderTest {
+    private AtomicInteger scans = new AtomicInteger();
+    private Collection<?> providers = List.of();
+
+    @Test
+    public void verifyApplicationMapperResolvedOnce() throws Exception {
+        var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        providers = List.of(new Object(), new MapperResolver(mapper));
+        var provider = new RzJacksonProvider(this::scan);
+
+        Assertions.assertSame(mapper, provider.locateMapper(Map.class, MediaType.APPLICATION_JSON_TYPE));
+        Assertions.assertTrue(write(provider).contains("\n"));
+        write(provider);
+        Assertions.assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void verifyDefaultMapper() throws Exception {
+        var provider = new RzJacksonProvider(this::scan);
+
+        Assertions.assertNotNull(provider.locateMapper(Map.class, MediaType.APPLICATION_JSON_TYPE));
+        Assertions.assertEquals("{\"message\":\"test\"}", write(provider));
+    }
+
+    @Test
+    public void verifyRefresh() throws Exception {
+        var provider = new RzJacksonProvider(this::scan);
+        Assertions.assertEquals("{\"message\":\"test\"}", write(provider));
+
+        // simulate a provider added by a reload
+        var mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        providers = List.of(new MapperResolver(mapper));
+        provider.refresh();
+
+        Assertions.assertSame(mapper, provider.locateMapper(Map.class, MediaType.APPLICATION_JSON_TYPE));
+        Assertions.assertTrue(write(provider).contains("\n"));
+        Assertions.assertEquals(2, scans.get());
+    }
+
+    private Collection<?> scan() {
+        scans.incrementAndGet();
+        return providers;
+    }
+
+    private String write(RzJacksonProvider provider) throws Exception {
+        var stream = new ByteArrayOutputStream();
+        provider.writeTo(Map.of("message", "test"), Map.class, Map.class, new Annotation[0], MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), stream);
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+
+    private static class MapperResolver implements ContextResolver<ObjectMapper> {
+        private ObjectMapper mapper;
+
+        MapperResolver(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        public ObjectMapper getContext(Class<?> type) {
+            return mapper;
+        }
+    }
+}